@@ -0,0 +1,385 @@
+package ru.sbtqa.tag.pagefactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.commons.lang3.ClassUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.pagefactory.annotations.ActionTitle;
+import ru.sbtqa.tag.pagefactory.annotations.ActionTitles;
+import ru.sbtqa.tag.pagefactory.annotations.ValidationRule;
+import ru.sbtqa.tag.pagefactory.exceptions.FactoryRuntimeException;
+import ru.sbtqa.tag.qautils.i18n.I18N;
+import ru.sbtqa.tag.qautils.i18n.I18NRuntimeException;
+
+/**
+ * Dispatch table of page and block actions. Maps localized action titles to
+ * method handles, so an action is found by a single lookup and invoked
+ * without reflection. Method handles are resolved once per class, titles are
+ * translated with the bundles of the current scenario once per scenario
+ */
+final class ActionTable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ActionTable.class);
+
+    private static final ConcurrentMap<Key, ActionTable> TABLES = new ConcurrentHashMap<>();
+
+    private final Map<String, List<Action>> actions;
+
+    private ActionTable(Map<String, List<Action>> actions) {
+        this.actions = actions;
+    }
+
+    /**
+     * Get table of actions declared in the given page class and its super
+     * classes
+     *
+     * @param clazz page class
+     * @return action table with titles of the current scenario language
+     */
+    static ActionTable getPageActions(Class<?> clazz) {
+        return getLocalizedTable(new Key(Kind.PAGE_ACTIONS, clazz));
+    }
+
+    /**
+     * Get table of public actions of the given block class
+     *
+     * @param clazz block class
+     * @return action table with titles of the current scenario language
+     */
+    static ActionTable getBlockActions(Class<?> clazz) {
+        return getLocalizedTable(new Key(Kind.BLOCK_ACTIONS, clazz));
+    }
+
+    /**
+     * Get table of public {@link ValidationRule} methods of the given page
+     * class. Validation rule titles are not translated
+     *
+     * @param clazz page class
+     * @return validation rules table
+     */
+    static ActionTable getValidationRules(Class<?> clazz) {
+        return getTable(new Key(Kind.VALIDATION_RULES, clazz));
+    }
+
+    /**
+     * Drop all built tables
+     */
+    static void invalidate() {
+        TABLES.clear();
+        ExecutionContext.getCurrent().getScenarioCache().clear();
+    }
+
+    /**
+     * Get table of the current scenario. It is translated from the table
+     * of annotation values on the first request in the scenario
+     */
+    private static ActionTable getLocalizedTable(Key key) {
+        Map<Object, Object> scenarioCache = ExecutionContext.getCurrent().getScenarioCache();
+        ActionTable table = (ActionTable) scenarioCache.get(key);
+        if (table == null) {
+            table = getTable(key).localize(scenarioCache);
+            scenarioCache.put(key, table);
+        }
+        return table;
+    }
+
+    private static ActionTable getTable(Key key) {
+        ActionTable table = TABLES.get(key);
+        if (table == null) {
+            ActionTable built = build(key);
+            table = TABLES.putIfAbsent(key, built);
+            if (table == null) {
+                table = built;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Check whether the table contains an action with the given title
+     *
+     * @param title action title
+     * @return true|false
+     */
+    boolean contains(String title) {
+        return actions.containsKey(title);
+    }
+
+    /**
+     * Invoke an action with the given title on the target. If there are
+     * several actions with the same title, the first one accepting the given
+     * arguments is invoked
+     *
+     * @param target object to invoke action on
+     * @param title action title
+     * @param args action arguments
+     * @return action result, or null for void actions
+     * @throws NoSuchMethodException if there is no action with such title
+     * accepting the given arguments
+     * @throws InvocationTargetException if the action has thrown an exception
+     */
+    Object invoke(Object target, String title, Object... args) throws NoSuchMethodException, InvocationTargetException {
+        Object[] arguments = args == null ? new Object[0] : args;
+        List<Action> candidates = actions.get(title);
+        if (candidates == null) {
+            throw new NoSuchMethodException("There is no action '" + title + "' in " + target.getClass().getName());
+        }
+        for (Action action : candidates) {
+            if (action.accepts(arguments)) {
+                try {
+                    return (Object) action.handle.invokeExact(target, arguments);
+                } catch (Throwable e) {
+                    throw new InvocationTargetException(e);
+                }
+            }
+        }
+        throw new NoSuchMethodException("There is no action '" + title + "' in " + target.getClass().getName()
+                + " accepting arguments " + Arrays.toString(arguments));
+    }
+
+    private static ActionTable build(Key key) {
+        List<Method> methods = key.kind == Kind.PAGE_ACTIONS
+                ? getDeclaredMethods(key.clazz)
+                : Arrays.asList(key.clazz.getMethods());
+
+        Map<String, List<Action>> actions = new LinkedHashMap<>();
+        for (Method method : methods) {
+            List<String> titles = key.kind == Kind.VALIDATION_RULES
+                    ? getValidationRuleTitles(method)
+                    : getActionTitles(method);
+            if (titles.isEmpty()) {
+                continue;
+            }
+            Action action = new Action(method);
+            for (String title : titles) {
+                addAction(actions, title, action);
+            }
+        }
+        return new ActionTable(unmodifiable(actions));
+    }
+
+    /**
+     * Translate titles of this table. Title of an action is translated with
+     * the bundle of the class declaring the action
+     *
+     * @param scenarioCache cache of the current scenario to keep bundles in
+     * @return translated table
+     */
+    private ActionTable localize(Map<Object, Object> scenarioCache) {
+        Map<String, List<Action>> localized = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Action>> entry : actions.entrySet()) {
+            for (Action action : entry.getValue()) {
+                TitleBundle bundle = getTitleBundle(action.method.getDeclaringClass(), scenarioCache);
+                addAction(localized, bundle.get(entry.getKey()), action);
+            }
+        }
+        return new ActionTable(unmodifiable(localized));
+    }
+
+    private static void addAction(Map<String, List<Action>> actions, String title, Action action) {
+        List<Action> candidates = actions.get(title);
+        if (candidates == null) {
+            candidates = new ArrayList<>();
+            actions.put(title, candidates);
+        }
+        if (!isOverridden(candidates, action.method)) {
+            candidates.add(action);
+        }
+    }
+
+    private static Map<String, List<Action>> unmodifiable(Map<String, List<Action>> actions) {
+        for (Map.Entry<String, List<Action>> entry : actions.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(actions);
+    }
+
+    /**
+     * Return a list of methods declared in the given class and its super
+     * classes. Methods of subclasses go first
+     *
+     * @param clazz class to check
+     * @return list of methods. could be empty list
+     */
+    private static List<Method> getDeclaredMethods(Class<?> clazz) {
+        List<Method> methods = new ArrayList<>();
+        Class<?> supp = clazz;
+        while (supp != null && supp != Object.class) {
+            methods.addAll(Arrays.asList(supp.getDeclaredMethods()));
+            supp = supp.getSuperclass();
+        }
+        return methods;
+    }
+
+    private static List<String> getActionTitles(Method method) {
+        ActionTitle actionTitle = method.getAnnotation(ActionTitle.class);
+        ActionTitles actionTitles = method.getAnnotation(ActionTitles.class);
+        List<String> titles = new ArrayList<>();
+
+        if (actionTitles != null) {
+            for (ActionTitle action : actionTitles.value()) {
+                titles.add(action.value());
+            }
+        }
+        if (actionTitle != null) {
+            titles.add(actionTitle.value());
+        }
+        return titles;
+    }
+
+    /**
+     * Get translations of action titles declared in the given class. Bundle of
+     * the scenario language is looked up only once per scenario, including the
+     * case when there is no bundle at all
+     */
+    private static TitleBundle getTitleBundle(Class<?> declaringClass, Map<Object, Object> scenarioCache) {
+        Key key = new Key(Kind.TITLE_BUNDLE, declaringClass);
+        TitleBundle bundle = (TitleBundle) scenarioCache.get(key);
+        if (bundle == null) {
+            I18N i18n = null;
+            try {
+                i18n = I18N.getI18n(declaringClass, ScenarioContext.getScenario());
+            } catch (I18NRuntimeException e) {
+                LOG.debug("There is no bundle for translation class {}. Leave it as is", declaringClass.getName(), e);
+            }
+            bundle = new TitleBundle(i18n);
+            scenarioCache.put(key, bundle);
+        }
+        return bundle;
+    }
+
+    private static List<String> getValidationRuleTitles(Method method) {
+        ValidationRule rule = method.getAnnotation(ValidationRule.class);
+        return rule == null ? Collections.<String>emptyList() : Collections.singletonList(rule.title());
+    }
+
+    /**
+     * Check whether a method with the same signature is already registered
+     * from a subclass. Handles are virtual, so the subclass method is called
+     * anyway
+     */
+    private static boolean isOverridden(List<Action> candidates, Method method) {
+        for (Action candidate : candidates) {
+            if (candidate.method.getName().equals(method.getName())
+                    && Arrays.equals(candidate.parameterTypes, method.getParameterTypes())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Action {
+
+        private final Method method;
+        private final Class<?>[] parameterTypes;
+        private final MethodHandle handle;
+
+        private Action(Method method) {
+            this.method = method;
+            this.parameterTypes = method.getParameterTypes();
+
+            int arity = parameterTypes.length;
+            try {
+                method.setAccessible(true);
+                MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+                if (Modifier.isStatic(method.getModifiers())) {
+                    methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+                }
+                this.handle = methodHandle
+                        .asType(MethodType.genericMethodType(arity + 1))
+                        .asSpreader(Object[].class, arity);
+            } catch (IllegalAccessException | SecurityException e) {
+                throw new FactoryRuntimeException("Failed to get access to action method " + method, e);
+            }
+        }
+
+        private boolean accepts(Object[] args) {
+            if (args.length != parameterTypes.length) {
+                return false;
+            }
+            for (int i = 0; i < args.length; i++) {
+                if (args[i] == null) {
+                    if (parameterTypes[i].isPrimitive()) {
+                        return false;
+                    }
+                } else if (!ClassUtils.isAssignable(args[i].getClass(), parameterTypes[i], true)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Resolved action titles of a single class. Bundle is null if the class
+     * has no translations
+     */
+    private static final class TitleBundle {
+
+        private final I18N i18n;
+        private final Map<String, String> titles = new HashMap<>();
+
+        private TitleBundle(I18N i18n) {
+            this.i18n = i18n;
+        }
+
+        private String get(String key) {
+            if (i18n == null) {
+                return key;
+            }
+            String title = titles.get(key);
+            if (title == null) {
+                title = i18n.get(key);
+                titles.put(key, title);
+            }
+            return title;
+        }
+    }
+
+    private enum Kind {
+        PAGE_ACTIONS, BLOCK_ACTIONS, VALIDATION_RULES, TITLE_BUNDLE
+    }
+
+    private static final class Key {
+
+        private final Kind kind;
+        private final Class<?> clazz;
+
+        private Key(Kind kind, Class<?> clazz) {
+            this.kind = kind;
+            this.clazz = clazz;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return kind == key.kind && clazz == key.clazz;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, clazz);
+        }
+    }
+}
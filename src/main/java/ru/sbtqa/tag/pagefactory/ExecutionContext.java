@@ -0,0 +1,184 @@
+package ru.sbtqa.tag.pagefactory;
+
+import cucumber.api.Scenario;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidElement;
+import java.util.HashMap;
+import java.util.Map;
+import net.lightbody.bmp.BrowserMobProxy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+
+/**
+ * State of a single scenario execution: drivers, current page, used block and
+ * scenario itself. Every thread has its own context, so scenarios can be run
+ * in parallel threads. Static accessors of {@link PageFactory},
+ * {@link ScenarioContext} and drivers are facades over the current context
+ */
+public final class ExecutionContext {
+
+    private static final ThreadLocal<ExecutionContext> CURRENT = new ThreadLocal<ExecutionContext>() {
+        @Override
+        protected ExecutionContext initialValue() {
+            return new ExecutionContext();
+        }
+    };
+
+    private WebDriver webDriver;
+    private BrowserMobProxy proxy;
+    private AppiumDriver<AndroidElement> mobileDriver;
+    private String deviceUdId;
+    private PageWrapper pageWrapper;
+    private Actions actions;
+    private boolean aspectsDisabled = false;
+    private boolean sharingProcessing = false;
+    private Scenario scenario;
+    private Map<Object, Object> scenarioCache = new HashMap<>();
+    private boolean usedBlock = false;
+    private WebElement block;
+
+    /**
+     * Get context of the current thread. It is created on the first request
+     *
+     * @return execution context
+     */
+    public static ExecutionContext getCurrent() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Bind given context to the current thread. Use it to pass a context to
+     * another thread, that should act on behalf of the scenario
+     *
+     * @param context context to bind
+     */
+    public static void setCurrent(ExecutionContext context) {
+        if (context == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+    }
+
+    /**
+     * Unbind context from the current thread. Next request creates a new
+     * empty context
+     */
+    public static void remove() {
+        CURRENT.remove();
+    }
+
+    public WebDriver getWebDriver() {
+        return webDriver;
+    }
+
+    public void setWebDriver(WebDriver webDriver) {
+        this.webDriver = webDriver;
+    }
+
+    public BrowserMobProxy getProxy() {
+        return proxy;
+    }
+
+    public void setProxy(BrowserMobProxy proxy) {
+        this.proxy = proxy;
+    }
+
+    public AppiumDriver<AndroidElement> getMobileDriver() {
+        return mobileDriver;
+    }
+
+    public void setMobileDriver(AppiumDriver<AndroidElement> mobileDriver) {
+        this.mobileDriver = mobileDriver;
+    }
+
+    public String getDeviceUdId() {
+        return deviceUdId;
+    }
+
+    public void setDeviceUdId(String deviceUdId) {
+        this.deviceUdId = deviceUdId;
+    }
+
+    public PageWrapper getPageWrapper() {
+        return pageWrapper;
+    }
+
+    public void setPageWrapper(PageWrapper pageWrapper) {
+        this.pageWrapper = pageWrapper;
+    }
+
+    public Actions getActions() {
+        return actions;
+    }
+
+    public void setActions(Actions actions) {
+        this.actions = actions;
+    }
+
+    public boolean isAspectsDisabled() {
+        return aspectsDisabled;
+    }
+
+    public void setAspectsDisabled(boolean aspectsDisabled) {
+        this.aspectsDisabled = aspectsDisabled;
+    }
+
+    public boolean isSharingProcessing() {
+        return sharingProcessing;
+    }
+
+    public void setSharingProcessing(boolean sharingProcessing) {
+        this.sharingProcessing = sharingProcessing;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    /**
+     * Set current scenario. Values cached for the previous scenario are
+     * dropped
+     *
+     * @param scenario current scenario
+     */
+    public void setScenario(Scenario scenario) {
+        this.scenario = scenario;
+        this.scenarioCache = new HashMap<>();
+    }
+
+    /**
+     * Lookups resolved once per scenario, e.g. action titles translated to the
+     * scenario language
+     *
+     * @return cache of the current scenario
+     */
+    Map<Object, Object> getScenarioCache() {
+        return scenarioCache;
+    }
+
+    /**
+     * @return true if page action is being executed inside of a block
+     */
+    public boolean isUsedBlock() {
+        return usedBlock;
+    }
+
+    /**
+     * @return block the page action is being executed in
+     */
+    public WebElement getUsedBlock() {
+        return block;
+    }
+
+    /**
+     * Set block the page action is being executed in
+     *
+     * @param block block element or null to leave the block
+     */
+    public void setUsedBlock(WebElement block) {
+        this.usedBlock = block != null;
+        this.block = block;
+    }
+}
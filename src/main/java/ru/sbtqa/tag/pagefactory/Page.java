@@ -1,28 +1,39 @@
 package ru.sbtqa.tag.pagefactory;
 
+import cucumber.api.DataTable;
 import java.io.File;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
-import org.apache.commons.lang3.reflect.FieldUtils;
-import org.apache.commons.lang3.reflect.MethodUtils;
 import org.junit.Assert;
 import org.openqa.selenium.By;
 import org.openqa.selenium.InvalidElementStateException;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.NoSuchElementException;
-import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
 import org.openqa.selenium.support.ui.Select;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,7 +44,9 @@ import ru.sbtqa.tag.pagefactory.annotations.ActionTitles;
 import ru.sbtqa.tag.pagefactory.annotations.ElementTitle;
 import ru.sbtqa.tag.pagefactory.annotations.PageEntry;
 import ru.sbtqa.tag.pagefactory.annotations.RedirectsTo;
+import ru.sbtqa.tag.pagefactory.annotations.RequiresKeystrokes;
 import ru.sbtqa.tag.pagefactory.annotations.ValidationRule;
+import ru.sbtqa.tag.pagefactory.annotations.WindowSize;
 import ru.sbtqa.tag.pagefactory.drivers.TagMobileDriver;
 import ru.sbtqa.tag.pagefactory.exceptions.ElementDescriptionException;
 import ru.sbtqa.tag.pagefactory.exceptions.ElementNotFoundException;
@@ -45,9 +58,9 @@ import ru.sbtqa.tag.pagefactory.extensions.DriverExtension;
 import ru.sbtqa.tag.pagefactory.extensions.WebExtension;
 import ru.sbtqa.tag.pagefactory.support.AdbConsole;
 import ru.sbtqa.tag.pagefactory.support.Environment;
+import ru.sbtqa.tag.pagefactory.support.ListQuery;
+import ru.sbtqa.tag.pagefactory.support.PagedElementList;
 import ru.sbtqa.tag.qautils.errors.AutotestError;
-import ru.sbtqa.tag.qautils.i18n.I18N;
-import ru.sbtqa.tag.qautils.i18n.I18NRuntimeException;
 import ru.sbtqa.tag.qautils.properties.Props;
 import ru.sbtqa.tag.qautils.reflect.FieldUtilsExt;
 import ru.sbtqa.tag.qautils.strategies.MatchStrategy;
@@ -62,8 +75,65 @@ public abstract class Page {
 
     private static final Logger LOG = LoggerFactory.getLogger(Page.class);
 
-    private static boolean isUsedBlock = false;
-    private static WebElement usedBlock = null;
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+    // Option texts are normalized by the same whitespaces as \s of java patterns in fallback
+    private static final String SELECT_OPTION_SCRIPT
+            = "var select = arguments[0], contains = arguments[2];"
+            + "var normalize = function(text) { return (text || '').replace(/[ \\t\\n\\x0B\\f\\r]+/g, ''); };"
+            + "if (!select || !select.tagName || select.tagName.toLowerCase() !== 'select') { return null; }"
+            + "var needed = normalize(arguments[1]), options = select.options;"
+            + "for (var i = 0; i < options.length; i++) {"
+            + "  var text = normalize(options[i].text);"
+            + "  if (contains ? text.indexOf(needed) < 0 : text !== needed) { continue; }"
+            + "  if (options[i].disabled || select.disabled) { return null; }"
+            + "  if (!options[i].selected) {"
+            + "    options[i].selected = true;"
+            + "    ['input', 'change'].forEach(function(type) {"
+            + "      var event = document.createEvent('HTMLEvents');"
+            + "      event.initEvent(type, true, false);"
+            + "      select.dispatchEvent(event);"
+            + "    });"
+            + "  }"
+            + "  return [i, options[i].text];"
+            + "}"
+            + "return [-1, null];";
+
+    private static final String FILL_FIELDS_SCRIPT
+            = "var elements = arguments[0], values = arguments[1], skipped = [];"
+            + "var fire = function(element, type) {"
+            + "  var event = document.createEvent('HTMLEvents');"
+            + "  event.initEvent(type, true, false);"
+            + "  element.dispatchEvent(event);"
+            + "};"
+            + "for (var i = 0; i < elements.length; i++) {"
+            + "  var element = elements[i], tag = element.tagName.toLowerCase();"
+            + "  var type = (element.type || '').toLowerCase();"
+            + "  if ((tag !== 'input' && tag !== 'textarea') || element.disabled || element.readOnly"
+            + "      || ['checkbox', 'radio', 'file', 'button', 'submit', 'reset', 'image'].indexOf(type) >= 0) {"
+            + "    skipped.push(i);"
+            + "    continue;"
+            + "  }"
+            + "  fire(element, 'focus');"
+            // Native setter is used, so frameworks tracking the value property notice the change
+            + "  var setter = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(element), 'value');"
+            + "  if (setter && setter.set) { setter.set.call(element, values[i]); } else { element.value = values[i]; }"
+            + "  fire(element, 'input');"
+            + "  fire(element, 'change');"
+            + "  fire(element, 'blur');"
+            + "}"
+            + "return skipped;";
+
+    private static final String READ_VALUES_SCRIPT
+            = "var elements = arguments[0], result = [];"
+            + "for (var i = 0; i < elements.length; i++) {"
+            + "  var element = elements[i];"
+            + "  var text = element.innerText !== undefined ? element.innerText : element.textContent;"
+            + "  result.push([element.tagName.toLowerCase(), element.value == null ? null : String(element.value),"
+            + "    element.title || '', text == null ? '' : text]);"
+            + "}"
+            + "return result;";
+
+    private ElementIndex elementIndex;
 
     /**
      * Find element with specified title annotation, and fill it with given text
@@ -77,7 +147,10 @@ public abstract class Page {
      */
     @ActionTitle("ru.sbtqa.tag.pagefactory.fill.field")
     public void fillField(String elementTitle, String text) throws PageException {
-        WebElement webElement = getElementByTitle(elementTitle);
+        typeText(getElementByTitle(elementTitle), elementTitle, text);
+    }
+
+    private void typeText(WebElement webElement, String elementTitle, String text) {
         webElement.click();
 
         if (PageFactory.getEnvironment() == Environment.WEB) {
@@ -85,10 +158,10 @@ public abstract class Page {
         }
 
         if (PageFactory.getEnvironment() == Environment.MOBILE && TagMobileDriver.getAppiumClickAdb()) {
-            // set ADBKeyBoard as default
-            AdbConsole.execute("ime set com.android.adbkeyboard/.AdbIME");
-            // send broadcast intent via adb
-            AdbConsole.execute(String.format("am broadcast -a ADB_INPUT_TEXT --es msg '%s'", text));
+            // set ADBKeyBoard as default and send broadcast intent via adb in one round trip.
+            // Text is single quoted for device shell, so its own single quotes are closed, escaped and reopened
+            AdbConsole.execute(Arrays.asList("ime set com.android.adbkeyboard/.AdbIME",
+                    String.format("am broadcast -a ADB_INPUT_TEXT --es msg '%s'", text.replace("'", "'\\''"))));
         } else {
             webElement.sendKeys(text);
         }
@@ -114,6 +187,77 @@ public abstract class Page {
         ParamsHelper.addParam("\"%s\" is filled with text \"%s\"", new String[]{getElementTitle(webElement), text});
     }
 
+    /**
+     * Fill fields with values from the table of element title and text pairs.
+     * See {@link #fillFields(Map)} for details
+     *
+     * @param dataTable table of element titles and texts
+     * @throws PageException if page was not initialized, or one of elements
+     * couldn't be found
+     */
+    @ActionTitle("ru.sbtqa.tag.pagefactory.fill.fields")
+    public void fillFields(DataTable dataTable) throws PageException {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (List<String> row : dataTable.raw()) {
+            values.put(row.get(0), row.size() > 1 ? row.get(1) : "");
+        }
+        fillFields(values);
+    }
+
+    /**
+     * Fill several fields at once. All elements are found before filling, then
+     * text inputs and text areas are filled by one script call, that sets the
+     * values and fires input and change events. Other elements, fields marked
+     * by {@link RequiresKeystrokes}, and all fields in mobile environment are
+     * filled by {@link #fillField(String, String)}
+     *
+     * @param values element titles and texts to enter
+     * @throws PageException if page was not initialized, or one of elements
+     * couldn't be found
+     */
+    public void fillFields(Map<String, String> values) throws PageException {
+        // Elements are found before filling, as a lookup resets the used block
+        Object owner = getElementOwner();
+        Map<String, WebElement> elements = new LinkedHashMap<>();
+        List<String> scripted = new ArrayList<>();
+        List<String> typed = new ArrayList<>();
+        for (String title : values.keySet()) {
+            Field field = getElementFieldByTitle(owner, title);
+            elements.put(title, Core.<WebElement>getElementByField(owner, field));
+            if (PageFactory.getEnvironment() != Environment.WEB || field.isAnnotationPresent(RequiresKeystrokes.class)) {
+                typed.add(title);
+            } else {
+                scripted.add(title);
+            }
+        }
+
+        if (!scripted.isEmpty()) {
+            List<WebElement> scriptedElements = new ArrayList<>();
+            List<String> texts = new ArrayList<>();
+            for (String title : scripted) {
+                scriptedElements.add(elements.get(title));
+                texts.add(values.get(title));
+            }
+            List<?> skipped = (List<?>) ((JavascriptExecutor) PageFactory.getDriver())
+                    .executeScript(FILL_FIELDS_SCRIPT, scriptedElements, texts);
+            Set<String> notFilled = new HashSet<>();
+            for (Object index : skipped) {
+                notFilled.add(scripted.get(((Number) index).intValue()));
+            }
+            for (String title : scripted) {
+                if (notFilled.contains(title)) {
+                    typed.add(title);
+                } else {
+                    ParamsHelper.addParam("\"%s\" is filled with text \"%s\"", new String[]{title, values.get(title)});
+                }
+            }
+        }
+
+        for (String title : typed) {
+            typeText(elements.get(title), title, values.get(title));
+        }
+    }
+
     /**
      * Click the specified link element
      *
@@ -280,8 +424,26 @@ public abstract class Page {
      * @param strategy the strategy to match value. See {@link MatchStrategy}
      * for available values
      */
-    @SuppressWarnings("unchecked")
     public void select(WebElement webElement, String option, MatchStrategy strategy) {
+        boolean isSelectionMade;
+        Object selected = ((JavascriptExecutor) PageFactory.getDriver()).executeScript(SELECT_OPTION_SCRIPT,
+                webElement, option, strategy.equals(MatchStrategy.CONTAINS));
+        if (selected instanceof List) {
+            isSelectionMade = ((Number) ((List<?>) selected).get(0)).intValue() >= 0;
+        } else {
+            // Not a native select, or the option is disabled
+            isSelectionMade = selectByOptionTexts(webElement, option, strategy);
+        }
+
+        String elementTitle = getElementTitle(webElement);
+        if (!isSelectionMade) {
+            throw new AutotestError("There is no element '" + option + "' in " + elementTitle);
+        }
+        ParamsHelper.addParam("In the select \"%s\" is selected option \"%s\"", new String[]{elementTitle, option});
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean selectByOptionTexts(WebElement webElement, String option, MatchStrategy strategy) {
         String jsString = ""
                 + "var content=[]; "
                 + "var options = arguments[0].getElementsByTagName('option'); "
@@ -292,11 +454,10 @@ public abstract class Page {
         List<String> options = (ArrayList<String>) ((JavascriptExecutor) PageFactory.getDriver()).
                 executeScript(jsString, webElement);
 
-        boolean isSelectionMade = false;
+        String needOptionText = normalize(option);
         for (int index = 0; index < options.size(); index++) {
             boolean isCurrentOption = false;
-            String optionText = options.get(index).replaceAll("\\s+", "");
-            String needOptionText = option.replaceAll("\\s+", "");
+            String optionText = normalize(options.get(index));
 
             if (strategy.equals(MatchStrategy.CONTAINS)) {
                 isCurrentOption = optionText.contains(needOptionText);
@@ -307,15 +468,10 @@ public abstract class Page {
             if (isCurrentOption) {
                 Select select = new Select(webElement);
                 select.selectByIndex(index);
-                isSelectionMade = true;
-                break;
+                return true;
             }
         }
-
-        if (!isSelectionMade) {
-            throw new AutotestError("There is no element '" + option + "' in " + getElementTitle(webElement));
-        }
-        ParamsHelper.addParam("In the select \"%s\" is selected option \"%s\"", new String[]{getElementTitle(webElement), option});
+        return false;
     }
 
     /**
@@ -452,18 +608,18 @@ public abstract class Page {
                     switch (webElement.getTagName()) {
                         case "input":
                             value = webElement.getAttribute("value");
-                            Assert.assertEquals(text.replaceAll("\\s+", ""), value.replaceAll("\\s+", ""));
+                            Assert.assertEquals(normalize(text), normalize(value));
                             break;
                         case "select":
                             value = webElement.getAttribute("title");
-                            if (value.isEmpty() || !value.replaceAll("\\s+", "").equals(text.replaceAll("\\s+", ""))) {
+                            if (value.isEmpty() || !normalize(value).equals(normalize(text))) {
                                 value = webElement.getText();
                             }
-                            Assert.assertEquals(text.replaceAll("\\s+", ""), value.replaceAll("\\s+", ""));
+                            Assert.assertEquals(normalize(text), normalize(value));
                             break;
                         default:
                             value = webElement.getText();
-                            Assert.assertEquals(text.replaceAll("\\s+", ""), value.replaceAll("\\s+", ""));
+                            Assert.assertEquals(normalize(text), normalize(value));
                             break;
                     }
                 } catch (Exception | AssertionError exception) {
@@ -475,18 +631,18 @@ public abstract class Page {
                     switch (webElement.getTagName()) {
                         case "input":
                             value = webElement.getAttribute("value");
-                            Assert.assertTrue(value.replaceAll("\\s+", "").contains(text.replaceAll("\\s+", "")));
+                            Assert.assertTrue(normalize(value).contains(normalize(text)));
                             break;
                         case "select":
                             value = webElement.getAttribute("title");
-                            if (value.isEmpty() || !value.replaceAll("\\s+", "").contains(text.replaceAll("\\s+", ""))) {
+                            if (value.isEmpty() || !normalize(value).contains(normalize(text))) {
                                 value = webElement.getText();
                             }
-                            Assert.assertTrue(value.replaceAll("\\s+", "").contains(text.replaceAll("\\s+", "")));
+                            Assert.assertTrue(normalize(value).contains(normalize(text)));
                             break;
                         default:
                             value = webElement.getText();
-                            Assert.assertTrue(value.replaceAll("\\s+", "").contains(text.replaceAll("\\s+", "")));
+                            Assert.assertTrue(normalize(value).contains(normalize(text)));
                             break;
                     }
                 } catch (Exception | AssertionError exception) {
@@ -497,6 +653,89 @@ public abstract class Page {
 
     }
 
+    /**
+     * Check values of elements from the table of element title and expected
+     * text pairs. See {@link #checkValues(Map, MatchStrategy)} for details.
+     * Use exact match strategy
+     *
+     * @param dataTable table of element titles and expected texts
+     * @throws PageException if page was not initialized, or one of elements
+     * couldn't be found
+     */
+    @ActionTitle("ru.sbtqa.tag.pagefactory.check.values")
+    public void checkValues(DataTable dataTable) throws PageException {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (List<String> row : dataTable.raw()) {
+            values.put(row.get(0), row.size() > 1 ? row.get(1) : "");
+        }
+        checkValues(values, MatchStrategy.EXACT);
+    }
+
+    /**
+     * Check values of several elements at once. Tag names, values, titles
+     * and texts of all elements are read by one script call and compared as
+     * {@link #checkValue(String, WebElement, MatchStrategy)} does. All
+     * mismatches are reported together
+     *
+     * @param values element titles and expected texts
+     * @param searchStrategy match strategy. See available strategies in
+     * {@link MatchStrategy}
+     * @throws PageException if page was not initialized, or one of elements
+     * couldn't be found
+     */
+    public void checkValues(Map<String, String> values, MatchStrategy searchStrategy) throws PageException {
+        // Elements are found before reading, as a lookup resets the used block
+        Object owner = getElementOwner();
+        List<String> titles = new ArrayList<>(values.keySet());
+        List<WebElement> elements = new ArrayList<>();
+        for (String title : titles) {
+            elements.add(Core.<WebElement>getElementByField(owner, getElementFieldByTitle(owner, title)));
+        }
+
+        List<?> states = (List<?>) ((JavascriptExecutor) PageFactory.getDriver())
+                .executeScript(READ_VALUES_SCRIPT, elements);
+        List<String> mismatches = new ArrayList<>();
+        for (int i = 0; i < titles.size(); i++) {
+            List<?> state = (List<?>) states.get(i);
+            String expected = values.get(titles.get(i));
+            String text = (String) state.get(3);
+            String value;
+            switch ((String) state.get(0)) {
+                case "input":
+                    value = state.get(1) == null ? "" : (String) state.get(1);
+                    break;
+                case "select":
+                    value = (String) state.get(2);
+                    if (value.isEmpty() || !matches(value, expected, searchStrategy)) {
+                        value = text;
+                    }
+                    break;
+                default:
+                    value = text;
+                    break;
+            }
+            if (!matches(value, expected, searchStrategy)) {
+                mismatches.add("The actual value '" + value + "' of '" + titles.get(i)
+                        + "' is not equal to expected text '" + expected + "'");
+            }
+        }
+
+        if (!mismatches.isEmpty()) {
+            throw new AutotestError(mismatches.size() + " of " + titles.size() + " values are not as expected:\n"
+                    + StringUtils.join(mismatches, "\n"));
+        }
+    }
+
+    private static boolean matches(String value, String expected, MatchStrategy searchStrategy) {
+        return searchStrategy == MatchStrategy.CONTAINS
+                ? normalize(value).contains(normalize(expected))
+                : normalize(value).equals(normalize(expected));
+    }
+
+    private static String normalize(String text) {
+        return WHITESPACES.matcher(text).replaceAll("");
+    }
+
     /**
      * Find element by given title, and check whether it is not empty See
      * {@link #checkFieldIsNotEmpty(WebElement)} for details
@@ -651,6 +890,22 @@ public abstract class Page {
         return Core.findListOfElements(listTitle, WebElement.class, this);
     }
 
+    /**
+     * Find elements of the list that match the query in context of current
+     * page. See ${@link Core#findListOfElements(String, Object, ListQuery)}
+     * for detailed description
+     *
+     * @param listTitle value of ElementTitle annotation of required element
+     * @param query condition on elements, e.g.
+     * {@code ListQuery.textEquals("Moscow").limit(1)}
+     * @return matching elements. Could be empty list
+     * @throws PageException if list is not found or current page is not
+     * initialized
+     */
+    public List<WebElement> findListOfElements(String listTitle, ListQuery query) throws PageException {
+        return Core.findListOfElements(listTitle, this, query);
+    }
+
     /**
      * Find elements list in context of required block See
      * ${@link Core#findListOfElements(String, Class, Object)} for detailed
@@ -683,6 +938,54 @@ public abstract class Page {
         return findListOfElementsInBlock(blockPath, listTitle, WebElement.class);
     }
 
+    /**
+     * Find elements of the list that match the query in context of required
+     * block. See ${@link Core#findListOfElements(String, Object, ListQuery)}
+     * for detailed description
+     *
+     * @param blockPath full path or just a name of the block to search
+     * @param listTitle value of ElementTitle annotation of required element
+     * @param query condition on elements
+     * @return matching elements. Could be empty list
+     * @throws PageException if list is not found or current page is not
+     * initialized
+     */
+    public List<WebElement> findListOfElementsInBlock(String blockPath, String listTitle, ListQuery query)
+            throws PageException {
+        Object block = findBlock(blockPath);
+        return Core.findListOfElements(listTitle, block, query);
+    }
+
+    /**
+     * Find paged list in context of current page. See
+     * ${@link Core#findListOfElements(String, Object)} for detailed
+     * description
+     *
+     * @param listTitle value of ElementTitle annotation of required element
+     * @return paged list
+     * @throws PageException if list is not found or current page is not
+     * initialized
+     */
+    public PagedElementList findPagedListOfElements(String listTitle) throws PageException {
+        return Core.findListOfElements(listTitle, this);
+    }
+
+    /**
+     * Find paged list in context of required block. See
+     * ${@link Core#findListOfElements(String, Object)} for detailed
+     * description
+     *
+     * @param blockPath full path or just a name of the block to search
+     * @param listTitle value of ElementTitle annotation of required element
+     * @return paged list
+     * @throws PageException if list is not found or current page is not
+     * initialized
+     */
+    public PagedElementList findPagedListOfElementsInBlock(String blockPath, String listTitle) throws PageException {
+        Object block = findBlock(blockPath);
+        return Core.findListOfElements(listTitle, block);
+    }
+
     /**
      * See {@link Core#findBlocks(String, Object, boolean)} for description.
      * This wrapper finds only one block. Search is being performed on a current
@@ -747,37 +1050,26 @@ public abstract class Page {
      */
     public void executeMethodByTitleInBlock(String blockPath, String actionTitle, Object... parameters) throws NoSuchMethodException {
         HtmlElement block = findBlock(blockPath);
-        Method[] methods = block.getClass().getMethods();
-        for (Method method : methods) {
-            if (Core.isRequiredAction(method, actionTitle)) {
-                try {
-                    method.setAccessible(true);
-                    if (parameters == null || parameters.length == 0) {
-                        MethodUtils.invokeMethod(block, method.getName());
-                    } else {
-                        MethodUtils.invokeMethod(block, method.getName(), parameters);
-                    }
-                    return;
-                } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-                    throw new FactoryRuntimeException(String.format("Failed to execute method '%s' in the following block: '%s'",
-                            actionTitle, blockPath), e);
-                }
+        ActionTable blockActions = ActionTable.getBlockActions(block.getClass());
+        if (blockActions.contains(actionTitle)) {
+            try {
+                blockActions.invoke(block, actionTitle, parameters);
+                return;
+            } catch (NoSuchMethodException | InvocationTargetException e) {
+                throw new FactoryRuntimeException(String.format("Failed to execute method '%s' in the following block: '%s'",
+                        actionTitle, blockPath), e);
             }
         }
 
-        isUsedBlock = true;
-        usedBlock = block;
-        List<Method> methodList = Core.getDeclaredMethods(this.getClass());
-        for (Method method : methodList) {
-            if (Core.isRequiredAction(method, actionTitle)) {
-                try {
-                    method.setAccessible(true);
-                    MethodUtils.invokeMethod(this, method.getName(), parameters);
-                    return;
-                } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-                    throw new FactoryRuntimeException(String.format("Failed to execute method '%s' in the following block: '%s'",
-                            actionTitle, blockPath), e);
-                }
+        ExecutionContext.getCurrent().setUsedBlock(block);
+        ActionTable pageActions = ActionTable.getPageActions(this.getClass());
+        if (pageActions.contains(actionTitle)) {
+            try {
+                pageActions.invoke(this, actionTitle, parameters);
+                return;
+            } catch (NoSuchMethodException | InvocationTargetException e) {
+                throw new FactoryRuntimeException(String.format("Failed to execute method '%s' in the following block: '%s'",
+                        actionTitle, blockPath), e);
             }
         }
 
@@ -796,27 +1088,15 @@ public abstract class Page {
     /**
      * Search for the given WebElement in page repository storage, that is being
      * generated during preconditions to all tests. If element is found, return
-     * its title annotation. If nothing found, log debug message and return
-     * toString() of corresponding element
+     * its title annotation. If nothing found, return toString() of
+     * corresponding element
      *
      * @param element WebElement to search
      * @return title of the given element
      */
     public String getElementTitle(WebElement element) {
-        for (Map.Entry<Field, String> entry : PageFactory.getPageRepository().get(this.getClass()).entrySet()) {
-            try {
-                if (Core.getElementByField(this, entry.getKey()) == element) {
-                    ElementTitle elementTitle = entry.getKey().getAnnotation(ElementTitle.class);
-                    if (elementTitle != null && !elementTitle.value().isEmpty()) {
-                        return elementTitle.value();
-                    }
-                    return entry.getValue();
-                }
-            } catch (NoSuchElementException | StaleElementReferenceException | ElementDescriptionException ex) {
-                LOG.debug("Failed to get element '" + element + "' title", ex);
-            }
-        }
-        return element.toString();
+        String title = getElementIndex().getTitle(element);
+        return title != null ? title : element.toString();
     }
 
     /**
@@ -833,7 +1113,7 @@ public abstract class Page {
                 LOG.warn("Current page not initialized yet. You must initialize it by hands at first time only.");
                 return null;
             }
-            return Core.findRedirect(currentPage, element);
+            return currentPage.getElementIndex().getRedirect(element);
         } catch (IllegalArgumentException | PageInitializationException ex) {
             throw new ElementDescriptionException("Failed to get element redirect", ex);
         }
@@ -848,21 +1128,26 @@ public abstract class Page {
      * find corresponding element or element type is set incorrectly
      */
     public WebElement getElementByTitle(String title) throws PageException {
-        if (!isUsedBlock) {
-            for (Field field : FieldUtilsExt.getDeclaredFieldsWithInheritance(this.getClass())) {
-                if (Core.isRequiredElement(field, title)) {
-                    return Core.getElementByField(this, field);
-                }
-            }
-        } else {
-            for (Field field : FieldUtilsExt.getDeclaredFieldsWithInheritance(usedBlock)) {
-                if (Core.isRequiredElementInBlock(field, title)) {
-                    return Core.getElementByField(usedBlock, field);
-                }
-            }
-        }
+        Object owner = getElementOwner();
+        return Core.getElementByField(owner, getElementFieldByTitle(owner, title));
+    }
 
-        throw new ElementNotFoundException(String.format("Element \"%s\" is not present on current page \"%s\"'", title, this.getTitle()));
+    /**
+     * @return used block if there is one, or this page otherwise
+     */
+    private Object getElementOwner() {
+        ExecutionContext context = ExecutionContext.getCurrent();
+        return context.isUsedBlock() ? context.getUsedBlock() : this;
+    }
+
+    private Field getElementFieldByTitle(Object owner, String title) throws ElementNotFoundException {
+        Field field = owner == this
+                ? Core.getElementTitles(this.getClass()).get(title)
+                : Core.getBlockElementTitles(owner.getClass()).get(title);
+        if (field == null) {
+            throw new ElementNotFoundException(String.format("Element \"%s\" is not present on current page \"%s\"'", title, this.getTitle()));
+        }
+        return field;
     }
 
     /**
@@ -877,10 +1162,9 @@ public abstract class Page {
      * find corresponding element or element type is set incorrectly
      */
     public <T extends WebElement> T getElementByTitle(String title, Class<T> type) throws PageException {
-        for (Field field : FieldUtilsExt.getDeclaredFieldsWithInheritance(this.getClass())) {
-            if (Core.isRequiredElement(field, title) && field.getType().equals(type)) {
-                return Core.getElementByField(this, field);
-            }
+        Field field = Core.getElementTitles(this.getClass()).get(title, type);
+        if (field != null) {
+            return Core.getElementByField(this, field);
         }
         throw new ElementNotFoundException(String.format("Element \"%s\" is not present on current page \"%s\"'", title, this.getTitle()));
     }
@@ -894,16 +1178,14 @@ public abstract class Page {
      * found
      */
     public void executeMethodByTitle(String title, Object... param) throws NoSuchMethodException {
-        List<Method> methods = Core.getDeclaredMethods(this.getClass());
-        for (Method method : methods) {
-            if (Core.isRequiredAction(method, title)) {
-                try {
-                    method.setAccessible(true);
-                    MethodUtils.invokeMethod(this, method.getName(), param);
-                    return;
-                } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-                    throw new FactoryRuntimeException("Error while executing action '" + title + "' on " + method.getDeclaringClass().getSimpleName() + " . See the caused exception below", ExceptionUtils.getRootCause(e));
-                }
+        ActionTable actions = ActionTable.getPageActions(this.getClass());
+        if (actions.contains(title)) {
+            try {
+                actions.invoke(this, title, param);
+                return;
+            } catch (NoSuchMethodException | InvocationTargetException e) {
+                Throwable rootCause = ExceptionUtils.getRootCause(e);
+                throw new FactoryRuntimeException("Error while executing action '" + title + "' on " + this.getClass().getSimpleName() + " . See the caused exception below", rootCause != null ? rootCause : e);
             }
         }
 
@@ -920,86 +1202,247 @@ public abstract class Page {
      * find corresponding validation rule
      */
     public void fireValidationRule(String title, Object... params) throws PageException {
-        Method[] methods = this.getClass().getMethods();
-        for (Method method : methods) {
-            if (null != method.getAnnotation(ValidationRule.class)
-                    && method.getAnnotation(ValidationRule.class).title().equals(title)) {
-                try {
-                    method.invoke(this, params);
-                } catch (InvocationTargetException | IllegalArgumentException | IllegalAccessException e) {
-                    LOG.debug("Failed to invoke method {}", method, e);
-                    throw new FactoryRuntimeException("Failed to invoke method", e);
-                }
-                return;
+        ActionTable rules = ActionTable.getValidationRules(this.getClass());
+        if (rules.contains(title)) {
+            try {
+                rules.invoke(this, title, params);
+            } catch (NoSuchMethodException | InvocationTargetException e) {
+                LOG.debug("Failed to invoke validation rule {}", title, e);
+                throw new FactoryRuntimeException("Failed to invoke method", e);
             }
+            return;
         }
         throw new PageException("There is no '" + title + "' validation rule in '" + this.getTitle() + "' page.");
     }
 
     /**
-     * Helper methods for manipulations on fields and objects
+     * Index elements of the page by identity of their proxies. Page elements
+     * are populated in a constructor, so it is called right after page
+     * bootstrap
      */
-    private static class Core {
+    void indexElements() {
+        elementIndex = new ElementIndex(this);
+    }
+
+    private ElementIndex getElementIndex() {
+        if (elementIndex == null) {
+            indexElements();
+        }
+        return elementIndex;
+    }
+
+    /**
+     * Drop cached element titles, block fields and block paths of page and
+     * block classes. They will be built again on the next lookup
+     */
+    static void invalidateCaches() {
+        Core.invalidate();
+    }
+
+    /**
+     * Titles and redirects of page elements, keyed by element identity.
+     * Fields that are null at bootstrap are remembered and only they are
+     * checked again when an element is not found
+     */
+    private static final class ElementIndex {
+
+        private final Page page;
+        private final Map<Object, String> titles = new IdentityHashMap<>();
+        private final Map<Object, Class<? extends Page>> redirects = new IdentityHashMap<>();
+        private final Map<Field, String> missing = new LinkedHashMap<>();
+
+        private ElementIndex(Page page) {
+            this.page = page;
+            Map<Field, String> fields = PageFactory.getPageRepository().get(page.getClass());
+            if (fields != null) {
+                index(fields);
+            }
+        }
+
+        private void index(Map<Field, String> fields) {
+            for (Map.Entry<Field, String> entry : fields.entrySet()) {
+                Field field = entry.getKey();
+                Object element;
+                try {
+                    field.setAccessible(true);
+                    element = field.get(page);
+                } catch (SecurityException | IllegalArgumentException | IllegalAccessException ex) {
+                    LOG.debug("Failed to index element '{}'", field, ex);
+                    continue;
+                }
+                if (element == null) {
+                    missing.put(field, entry.getValue());
+                    continue;
+                }
+                missing.remove(field);
+
+                ElementTitle elementTitle = field.getAnnotation(ElementTitle.class);
+                if (!titles.containsKey(element)) {
+                    titles.put(element, elementTitle != null && !elementTitle.value().isEmpty()
+                            ? elementTitle.value() : entry.getValue());
+                }
+                RedirectsTo redirect = field.getAnnotation(RedirectsTo.class);
+                if (redirect != null && !redirects.containsKey(element)) {
+                    redirects.put(element, redirect.page());
+                }
+            }
+        }
 
         /**
-         * Return a list of methods declared tin the given class and its super
-         * classes
-         *
-         * @param clazz class to check
-         * @return list of methods. could be empty list
+         * Index fields that were null before, if there are any
          */
-        private static List<Method> getDeclaredMethods(Class clazz) {
-            List<Method> methods = new ArrayList<>();
-
-            methods.addAll(Arrays.asList(clazz.getDeclaredMethods()));
+        private void indexMissing() {
+            if (!missing.isEmpty()) {
+                index(new LinkedHashMap<>(missing));
+            }
+        }
 
-            Class supp = clazz.getSuperclass();
+        private synchronized String getTitle(Object element) {
+            String title = titles.get(element);
+            if (title == null && !missing.isEmpty()) {
+                indexMissing();
+                title = titles.get(element);
+            }
+            return title;
+        }
 
-            while (supp != java.lang.Object.class) {
-                methods.addAll(Arrays.asList(supp.getDeclaredMethods()));
-                supp = supp.getSuperclass();
+        private synchronized Class<? extends Page> getRedirect(Object element) {
+            if (!redirects.containsKey(element) && !titles.containsKey(element) && !missing.isEmpty()) {
+                indexMissing();
             }
+            return redirects.get(element);
+        }
+    }
 
-            return methods;
+    /**
+     * Helper methods for manipulations on fields and objects
+     */
+    private static class Core {
+
+        private static final ConcurrentMap<Class<?>, ElementTitles> ELEMENT_TITLES = new ConcurrentHashMap<>();
+        private static final ConcurrentMap<Class<?>, ElementTitles> BLOCK_ELEMENT_TITLES = new ConcurrentHashMap<>();
+        private static final ConcurrentMap<Field, String> FIELD_TITLES = new ConcurrentHashMap<>();
+        private static final ConcurrentMap<Class<?>, List<Field>> BLOCK_FIELDS = new ConcurrentHashMap<>();
+        private static final ConcurrentMap<Class<?>, ConcurrentMap<String, List<Field[]>>> BLOCK_PATHS = new ConcurrentHashMap<>();
+
+        private static void invalidate() {
+            ELEMENT_TITLES.clear();
+            BLOCK_ELEMENT_TITLES.clear();
+            FIELD_TITLES.clear();
+            BLOCK_FIELDS.clear();
+            BLOCK_PATHS.clear();
         }
 
         /**
-         * Check whether given method has {@link ActionTitle} or
-         * {@link ActionTitles} annotation with required title
-         *
-         * @param method method to check
-         * @param title required title
-         * @return true|false
+         * Immutable lookup table from element title to the fields of a class
+         * (including inherited ones) that have this title. Fields are kept in
+         * declaration order and are already made accessible
          */
-        private static Boolean isRequiredAction(Method method, final String title) {
-            ActionTitle actionTitle = method.getAnnotation(ActionTitle.class);
-            ActionTitles actionTitles = method.getAnnotation(ActionTitles.class);
-            List<ActionTitle> actionList = new ArrayList<>();
+        private static final class ElementTitles {
+
+            private final Map<String, List<Field>> fields;
+            private final Map<String, Map<Class<?>, Field>> typedFields;
+
+            private ElementTitles(Class<?> clazz, boolean inBlock) {
+                Map<String, List<Field>> titledFields = new HashMap<>();
+                Map<String, Map<Class<?>, Field>> titledTypedFields = new HashMap<>();
+                for (Field field : FieldUtilsExt.getDeclaredFieldsWithInheritance(clazz)) {
+                    String title = inBlock ? getFieldTitleInBlock(field) : getFieldTitle(field);
+                    if (title.isEmpty()) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+
+                    List<Field> sameTitle = titledFields.get(title);
+                    Map<Class<?>, Field> sameTitleTyped = titledTypedFields.get(title);
+                    if (sameTitle == null) {
+                        sameTitle = new ArrayList<>();
+                        sameTitleTyped = new HashMap<>();
+                        titledFields.put(title, sameTitle);
+                        titledTypedFields.put(title, sameTitleTyped);
+                    }
+                    sameTitle.add(field);
+                    if (!sameTitleTyped.containsKey(field.getType())) {
+                        sameTitleTyped.put(field.getType(), field);
+                    }
+                }
 
-            if (actionTitles != null) {
-                actionList.addAll(Arrays.asList(actionTitles.value()));
+                for (Map.Entry<String, List<Field>> entry : titledFields.entrySet()) {
+                    entry.setValue(Collections.unmodifiableList(entry.getValue()));
+                }
+                for (Map.Entry<String, Map<Class<?>, Field>> entry : titledTypedFields.entrySet()) {
+                    entry.setValue(Collections.unmodifiableMap(entry.getValue()));
+                }
+                this.fields = Collections.unmodifiableMap(titledFields);
+                this.typedFields = Collections.unmodifiableMap(titledTypedFields);
             }
-            if (actionTitle != null) {
-                actionList.add(actionTitle);
+
+            /**
+             * @param title element title
+             * @return first field with the title or null
+             */
+            private Field get(String title) {
+                List<Field> found = fields.get(title);
+                return found == null ? null : found.get(0);
             }
 
-            I18N i18n = null;
-            try {
-                i18n = I18N.getI18n(method.getDeclaringClass(), ScenarioContext.getScenario());
-            } catch (I18NRuntimeException e) {
-                LOG.debug("There is no bundle for translation class. Leave it as is", e);
+            /**
+             * @param title element title
+             * @param type exact type of the field
+             * @return first field with the title and type or null
+             */
+            private Field get(String title, Class<?> type) {
+                Map<Class<?>, Field> found = typedFields.get(title);
+                return found == null ? null : found.get(type);
             }
 
-            for (ActionTitle action : actionList) {
-                String actionValue;
-                actionValue = (i18n != null) ? i18n.get(action.value()) : action.value();
+            /**
+             * @param title element title
+             * @return all fields with the title. Could be empty list
+             */
+            private List<Field> getAll(String title) {
+                List<Field> found = fields.get(title);
+                return found == null ? Collections.<Field>emptyList() : found;
+            }
+        }
 
-                if (actionValue.equals(title)) {
-                    return true;
+        /**
+         * Get lookup table of {@link ElementTitle} titles of the given class.
+         * Table is built once per class on the first request
+         *
+         * @param clazz page or block class
+         * @return element titles table
+         */
+        private static ElementTitles getElementTitles(Class<?> clazz) {
+            ElementTitles titles = ELEMENT_TITLES.get(clazz);
+            if (titles == null) {
+                titles = new ElementTitles(clazz, false);
+                ElementTitles existing = ELEMENT_TITLES.putIfAbsent(clazz, titles);
+                if (existing != null) {
+                    titles = existing;
                 }
             }
+            return titles;
+        }
 
-            return false;
+        /**
+         * Get lookup table of {@link Name} or {@link ElementTitle} titles of
+         * the given block class. Table is built once per class on the first
+         * request
+         *
+         * @param clazz block class
+         * @return element titles table
+         */
+        private static ElementTitles getBlockElementTitles(Class<?> clazz) {
+            ElementTitles titles = BLOCK_ELEMENT_TITLES.get(clazz);
+            if (titles == null) {
+                titles = new ElementTitles(clazz, true);
+                ElementTitles existing = BLOCK_ELEMENT_TITLES.putIfAbsent(clazz, titles);
+                if (existing != null) {
+                    titles = existing;
+                }
+            }
+            return titles;
         }
 
         /**
@@ -1037,45 +1480,114 @@ public abstract class Page {
          */
         private static List<HtmlElement> findBlocks(String blockPath, Object context, boolean returnFirstFound)
                 throws IllegalAccessException {
-            String[] blockChain;
-            if (blockPath.contains("->")) {
-                blockChain = blockPath.split("->");
-            } else {
-                blockChain = new String[]{blockPath};
-            }
             List<HtmlElement> found = new ArrayList<>();
-            for (Field currentField : FieldUtilsExt.getDeclaredFieldsWithInheritance(context.getClass())) {
-                if (Core.isBlockElement(currentField)) {
-                    currentField.setAccessible(true);
-
-                    if (Core.isRequiredElement(currentField, blockChain[0])) {
-                        // isBlockElement() ensures that this is a HtmlElement instance
-                        HtmlElement foundBlock = (HtmlElement) currentField.get(context);
-                        if (blockChain.length == 1) {
-                            // Found required block directly inside the context
-                            found.add(foundBlock);
-                            if (returnFirstFound) {
-                                return found;
-                            }
-                        } else {
-                            // Continue to search in the element chain, reducing its length by the first found element
-                            // +2 because '->' adds 2 symbols
-                            String reducedPath = blockPath.substring(blockChain[0].length() + 2);
-                            found.addAll(findBlocks(reducedPath, foundBlock, returnFirstFound));
-                        }
-                    } else if (blockChain.length == 1) {
-                        found.addAll(findBlocks(blockPath, currentField.get(context), returnFirstFound));
+            for (Field[] chain : getBlockPaths(context.getClass(), blockPath)) {
+                Object block = context;
+                for (Field field : chain) {
+                    block = field.get(block);
+                    if (block == null) {
+                        break;
+                    }
+                }
+                if (block != null) {
+                    // isBlockElement() ensures that this is a HtmlElement instance
+                    found.add((HtmlElement) block);
+                    if (returnFirstFound) {
+                        return found;
                     }
                 }
             }
             return found;
         }
 
+        /**
+         * Get chains of block fields leading from the given class to the
+         * blocks found by path. Chains are compiled once per class and path,
+         * in the order blocks are found by a depth-first search
+         *
+         * @param clazz class where the search is performed
+         * @param blockPath full path or just a name of the block to search
+         * @return list of field chains. could be empty
+         */
+        private static List<Field[]> getBlockPaths(Class<?> clazz, String blockPath) {
+            ConcurrentMap<String, List<Field[]>> paths = BLOCK_PATHS.get(clazz);
+            if (paths == null) {
+                paths = new ConcurrentHashMap<>();
+                ConcurrentMap<String, List<Field[]>> existing = BLOCK_PATHS.putIfAbsent(clazz, paths);
+                if (existing != null) {
+                    paths = existing;
+                }
+            }
+
+            List<Field[]> chains = paths.get(blockPath);
+            if (chains == null) {
+                String[] blockChain = blockPath.contains("->") ? blockPath.split("->") : new String[]{blockPath};
+                List<Field[]> compiled = new ArrayList<>();
+                compileBlockPaths(clazz, blockChain, 0, new ArrayList<Field>(), new ArrayList<Class<?>>(), compiled);
+                chains = Collections.unmodifiableList(compiled);
+                paths.putIfAbsent(blockPath, chains);
+            }
+            return chains;
+        }
+
+        /**
+         * Leading path segments are searched among direct child blocks only.
+         * The last one is searched recursively, without going inside of the
+         * found blocks
+         */
+        private static void compileBlockPaths(Class<?> clazz, String[] blockChain, int segment,
+                List<Field> chain, List<Class<?>> visited, List<Field[]> compiled) {
+            if (visited.contains(clazz)) {
+                return;
+            }
+            visited.add(clazz);
+            boolean isLastSegment = segment == blockChain.length - 1;
+            for (Field field : getBlockFields(clazz)) {
+                chain.add(field);
+                if (isRequiredElement(field, blockChain[segment])) {
+                    if (isLastSegment) {
+                        compiled.add(chain.toArray(new Field[chain.size()]));
+                    } else {
+                        compileBlockPaths(field.getType(), blockChain, segment + 1, chain, visited, compiled);
+                    }
+                } else if (isLastSegment) {
+                    compileBlockPaths(field.getType(), blockChain, segment, chain, visited, compiled);
+                }
+                chain.remove(chain.size() - 1);
+            }
+            visited.remove(visited.size() - 1);
+        }
+
+        /**
+         * Get block fields of the given class
+         *
+         * @param clazz class to check
+         * @return accessible block fields in declaration order
+         */
+        private static List<Field> getBlockFields(Class<?> clazz) {
+            List<Field> fields = BLOCK_FIELDS.get(clazz);
+            if (fields == null) {
+                List<Field> blockFields = new ArrayList<>();
+                for (Field field : FieldUtilsExt.getDeclaredFieldsWithInheritance(clazz)) {
+                    if (isBlockElement(field)) {
+                        field.setAccessible(true);
+                        blockFields.add(field);
+                    }
+                }
+                fields = Collections.unmodifiableList(blockFields);
+                BLOCK_FIELDS.putIfAbsent(clazz, fields);
+            }
+            return fields;
+        }
+
         /**
          * Find list of elements of the specified type with required title in
          * the given context. Context is either a page object itself, or a block
          * on the page. !BEWARE! field.get() will actually query browser to
-         * evaluate the list, so this method might reduce performance!
+         * evaluate the list, so this method might reduce performance! Use
+         * {@link #findListOfElements(String, Object, ListQuery)} to look for
+         * particular elements of a long list, or declare it as
+         * {@link PagedElementList}
          *
          * @param listTitle value of ElementTitle annotation of required element
          * @param type type of elements inside of the list
@@ -1088,22 +1600,110 @@ public abstract class Page {
         @SuppressWarnings("unchecked")
         private static <T extends WebElement> List<T> findListOfElements(String listTitle, Class<T> type, Object context)
                 throws PageException {
-            for (Field field : FieldUtilsExt.getDeclaredFieldsWithInheritance(context.getClass())) {
-                if (Core.isRequiredElement(field, listTitle) && List.class.isAssignableFrom(field.getType())
+            return (List<T>) getListValue(findListField(listTitle, type, context), context);
+        }
+
+        /**
+         * Find elements of the list with required title that match the query.
+         * The list could be a {@link PagedElementList} as well. If the list
+         * field is located by {@link FindBy}, {@link FindBys} or
+         * {@link FindAll} annotation, the list is not evaluated: its locator
+         * is passed to the query, which finds and checks the elements in
+         * browser
+         *
+         * @param listTitle value of ElementTitle annotation of required element
+         * @param context object where search should be performed
+         * @param query condition on elements
+         * @return matching elements
+         * @throws PageException if didn't find any list or current page wasn't
+         * initialized
+         */
+        @SuppressWarnings("unchecked")
+        private static List<WebElement> findListOfElements(String listTitle, Object context, ListQuery query)
+                throws PageException {
+            Field pagedField = findPagedListField(listTitle, context);
+            if (pagedField != null) {
+                return getPagedList(pagedField, context).find(query);
+            }
+            Field field = findListField(listTitle, WebElement.class, context);
+            if (!field.isAnnotationPresent(FindBy.class) && !field.isAnnotationPresent(FindBys.class)
+                    && !field.isAnnotationPresent(FindAll.class)) {
+                return query.filter((List<WebElement>) getListValue(field, context));
+            }
+            return query.find(getSearchContext(context), new Annotations(field).buildBy());
+        }
+
+        /**
+         * Find paged list with required title in the given context. The list
+         * field is created from its {@link FindBy} locator and
+         * {@link WindowSize} annotation on the first request. Elements are
+         * fetched only when the list is iterated, see {@link PagedElementList}
+         *
+         * @param listTitle value of ElementTitle annotation of required element
+         * @param context object where search should be performed
+         * @return paged list
+         * @throws PageException if didn't find any list or current page wasn't
+         * initialized
+         */
+        private static PagedElementList findListOfElements(String listTitle, Object context) throws PageException {
+            Field field = findPagedListField(listTitle, context);
+            if (field == null) {
+                throw new ElementNotFoundException(String.format("Couldn't find paged list '%s' on page '%s'", listTitle, PageFactory.getInstance().getCurrentPageTitle()));
+            }
+            return getPagedList(field, context);
+        }
+
+        private static Field findPagedListField(String listTitle, Object context) {
+            for (Field field : getElementTitles(context.getClass()).getAll(listTitle)) {
+                if (PagedElementList.class.isAssignableFrom(field.getType())) {
+                    return field;
+                }
+            }
+            return null;
+        }
+
+        private static PagedElementList getPagedList(Field field, Object context) {
+            try {
+                PagedElementList list = (PagedElementList) field.get(context);
+                if (list == null) {
+                    By by = new Annotations(field).buildBy();
+                    WindowSize windowSize = field.getAnnotation(WindowSize.class);
+                    list = windowSize == null
+                            ? new PagedElementList(getSearchContext(context), by)
+                            : new PagedElementList(getSearchContext(context), by, windowSize.value());
+                    field.set(context, list);
+                }
+                return list;
+            } catch (IllegalAccessException e) {
+                throw new FactoryRuntimeException(
+                        String.format("Internal error during attempt to find list '%s'", getFieldTitle(field)), e);
+            }
+        }
+
+        private static SearchContext getSearchContext(Object context) {
+            return context instanceof WebElement ? (WebElement) context : PageFactory.getWebDriver();
+        }
+
+        private static Field findListField(String listTitle, Class<?> type, Object context) throws PageException {
+            for (Field field : getElementTitles(context.getClass()).getAll(listTitle)) {
+                if (List.class.isAssignableFrom(field.getType())
                         && field.getGenericType() instanceof ParameterizedType
                         && ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0].equals(type)) {
-                    field.setAccessible(true);
-                    try {
-                        return (List<T>) field.get(context);
-                    } catch (IllegalAccessException e) {
-                        throw new FactoryRuntimeException(
-                                String.format("Internal error during attempt to find list '%s'", listTitle), e);
-                    }
+                    return field;
                 }
             }
             throw new ElementNotFoundException(String.format("Couldn't find elements list '%s' on page '%s'", listTitle, PageFactory.getInstance().getCurrentPageTitle()));
         }
 
+        private static List<?> getListValue(Field field, Object context) {
+            try {
+                return (List<?>) field.get(context);
+            } catch (IllegalAccessException e) {
+                throw new FactoryRuntimeException(
+                        String.format("Internal error during attempt to find list '%s'", getFieldTitle(field)), e);
+            }
+        }
+
         /**
          * Find element with required title and type inside of the given block.
          * Return null if didn't find any
@@ -1118,9 +1718,8 @@ public abstract class Page {
          */
         private static <T extends WebElement> T findElementInBlock(HtmlElement block, String elementTitle, Class<T> type)
                 throws ElementDescriptionException {
-            for (Field f : FieldUtils.getAllFields(block.getClass())) {
-                if (Core.isRequiredElement(f, elementTitle) && type.isAssignableFrom(f.getType())) {
-                    f.setAccessible(true);
+            for (Field f : getElementTitles(block.getClass()).getAll(elementTitle)) {
+                if (type.isAssignableFrom(f.getType())) {
                     try {
                         return type.cast(f.get(block));
                     } catch (IllegalAccessException iae) {
@@ -1166,18 +1765,6 @@ public abstract class Page {
             return getFieldTitle(field).equals(title);
         }
 
-        /**
-         * Check whether {@link Name} annotation of the field has a
-         * required value
-         *
-         * @param field field to check
-         * @param title value of ElementTitle annotation of required element
-         * @return true|false
-         */
-        private static boolean isRequiredElementInBlock(Field field, String title) {
-            return getFieldTitleInBlock(field).equals(title);
-        }
-
         /**
          * Return value of {@link ElementTitle} annotation for the field. If
          * none present, return empty string
@@ -1186,12 +1773,13 @@ public abstract class Page {
          * @return either an element title, or an empty string
          */
         private static String getFieldTitle(Field field) {
-            for (Annotation a : field.getAnnotations()) {
-                if (a instanceof ElementTitle) {
-                    return ((ElementTitle) a).value();
-                }
+            String title = FIELD_TITLES.get(field);
+            if (title == null) {
+                ElementTitle elementTitle = field.getAnnotation(ElementTitle.class);
+                title = elementTitle == null ? "" : elementTitle.value();
+                FIELD_TITLES.put(field, title);
             }
-            return "";
+            return title;
         }
 
         /**
@@ -1213,55 +1801,6 @@ public abstract class Page {
             return "";
         }
 
-        /**
-         * Search for the given given element among the parent object fields,
-         * check whether it has a {@link
-         * RedirectsTo} annotation, and return a redirection page class, if so.
-         * Search goes in recursion if it meets HtmlElement field, as given
-         * element could be inside of the block
-         *
-         * @param element element that is being checked for redirection
-         * @param parent parent object
-         * @return class of the page, this element redirects to
-         */
-        private static Class<? extends Page> findRedirect(Object parent, Object element) {
-            if (PageFactory.getPageRepository().get(parent.getClass()) == null) {
-                return null;
-            }
-
-            for (Map.Entry<Field, String> entry : PageFactory.getPageRepository().get(parent.getClass()).entrySet()) {
-                Field field = entry.getKey();
-                RedirectsTo redirect = field.getAnnotation(RedirectsTo.class);
-
-                if (redirect != null) {
-                    try {
-                        field.setAccessible(true);
-                        Object targetField = field.get(parent);
-                        if (targetField != null) {
-                            if (targetField == element) {
-                                return redirect.page();
-                            }
-                        }
-                    } catch (NoSuchElementException | StaleElementReferenceException | SecurityException | IllegalArgumentException | IllegalAccessException ex) {
-                        LOG.debug("Failed to get page destination to redirect for element", ex);
-                    }
-                }
-                if (Core.isChildOf(HtmlElement.class, field)) {
-                    field.setAccessible(true);
-                    Class<? extends Page> redirects = null;
-                    try {
-                        redirects = findRedirect(field.get(parent), element);
-                    } catch (IllegalArgumentException | IllegalAccessException ex) {
-                        LOG.debug("Failed to get page destination to redirect for html element", ex);
-                    }
-                    if (redirects != null) {
-                        return redirects;
-                    }
-                }
-            }
-            return null;
-        }
-
         /**
          * Get object from a field of specified parent
          *
@@ -1279,8 +1818,7 @@ public abstract class Page {
             Object element;
             try {
                 element = field.get(parentObject);
-                isUsedBlock = false;
-                usedBlock = null;
+                ExecutionContext.getCurrent().setUsedBlock(null);
                 return (T) element;
             } catch (IllegalArgumentException | IllegalAccessException iae) {
                 throw new ElementDescriptionException("Specified parent object is not an instance of the class or "
@@ -2,31 +2,40 @@ package ru.sbtqa.tag.pagefactory;
 
 import io.appium.java_client.AppiumDriver;
 import java.lang.reflect.Field;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.validator.routines.IntegerValidator;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.pagefactory.FieldDecorator;
+import org.reflections.Reflections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.pagefactory.annotations.ElementTitle;
 import ru.sbtqa.tag.pagefactory.drivers.TagMobileDriver;
 import ru.sbtqa.tag.pagefactory.drivers.TagWebDriver;
 import ru.sbtqa.tag.pagefactory.exceptions.FactoryRuntimeException;
+import ru.sbtqa.tag.pagefactory.index.PageIndex;
 import ru.sbtqa.tag.pagefactory.support.Environment;
 import ru.sbtqa.tag.qautils.properties.Props;
+import ru.sbtqa.tag.qautils.reflect.ClassUtilsExt;
+import ru.sbtqa.tag.qautils.reflect.FieldUtilsExt;
 import ru.sbtqa.tag.videorecorder.VideoRecorder;
+import ru.yandex.qatools.htmlelements.element.HtmlElement;
 
 public class PageFactory {
 
     private static final Logger LOG = LoggerFactory.getLogger(PageFactory.class);
 
-    private static final Map<Class<? extends Page>, Map<Field, String>> PAGES_REPOSITORY = new HashMap<>();
+    private static volatile Map<Class<? extends Page>, Map<Field, String>> pagesRepository;
 
-    private static Actions actions;
-    private static PageWrapper PageWrapper;
     private static VideoRecorder videoRecorder;
-    private static boolean aspectsDisabled = false;
     private static String defaultTimeout = "20771";
 
     private static final String ENVIRONMENT = Props.get("driver.environment");
@@ -35,7 +44,6 @@ public class PageFactory {
     private static final String ENVIRONMENT_WEB = "web";
     private static final String ENVIRONMENT_MOBILE = "mobile";
     private static final boolean VIDEO_ENABLED = Boolean.parseBoolean(Props.get("video.enabled", "false"));
-    private static boolean isSharingProcessing = false;
 
     public static WebDriver getWebDriver() {
         return getDriver();
@@ -57,8 +65,10 @@ public class PageFactory {
     }
 
     public static void dispose() {
-        PageWrapper = null;
-        actions = null;
+        ExecutionContext context = ExecutionContext.getCurrent();
+        context.setPageWrapper(null);
+        context.setActions(null);
+        context.setUsedBlock(null);
         switch (getEnvironment()) {
             case WEB:
                 TagWebDriver.dispose();
@@ -85,10 +95,11 @@ public class PageFactory {
      * @return PageFactory
      */
     public static PageWrapper getInstance() {
-        if (null == PageWrapper) {
-            PageWrapper = new PageWrapper(getPagesPackage());
+        ExecutionContext context = ExecutionContext.getCurrent();
+        if (null == context.getPageWrapper()) {
+            context.setPageWrapper(new PageWrapper(getPagesPackage()));
         }
-        return PageWrapper;
+        return context.getPageWrapper();
     }
 
     /**
@@ -97,10 +108,11 @@ public class PageFactory {
      * @return Actions
      */
     public static Actions getActions() {
-        if (null == actions) {
-            actions = new Actions(getWebDriver());
+        ExecutionContext context = ExecutionContext.getCurrent();
+        if (null == context.getActions()) {
+            context.setActions(new Actions(getWebDriver()));
         }
-        return actions;
+        return context.getActions();
     }
 
     /**
@@ -140,10 +152,84 @@ public class PageFactory {
     }
 
     /**
+     * Get repository of page objects and their WebElement fields. Repository
+     * is built once per JVM on the first request. Pages could be added to it
+     *
      * @return the pageRepository
      */
     public static Map<Class<? extends Page>, Map<Field, String>> getPageRepository() {
-        return PAGES_REPOSITORY;
+        Map<Class<? extends Page>, Map<Field, String>> repository = pagesRepository;
+        if (repository == null) {
+            synchronized (PageFactory.class) {
+                repository = pagesRepository;
+                if (repository == null) {
+                    repository = buildPageRepository();
+                    pagesRepository = repository;
+                }
+            }
+        }
+        return repository;
+    }
+
+    /**
+     * Drop cached page repository and page titles index. They will be built
+     * again on the next request. Use it only if page classes were reloaded in
+     * runtime
+     */
+    public static synchronized void invalidatePageRepository() {
+        pagesRepository = null;
+        PageIndex.invalidate();
+        PageWrapper.invalidatePageTitlesIndex();
+        ActionTable.invalidate();
+        Page.invalidateCaches();
+        LOG.info("Page repository is invalidated");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Class<? extends Page>, Map<Field, String>> buildPageRepository() {
+        Collection<String> allClassesString = PageIndex.getInstance().getTypes(getPagesPackage());
+        if (allClassesString.isEmpty()) {
+            Reflections reflections = new Reflections(getPagesPackage());
+            allClassesString = reflections.getStore().get("SubTypesScanner").values();
+        }
+        Set<Class<?>> allClasses = new HashSet<>();
+        for (String clazz : allClassesString) {
+            try {
+                allClasses.add(Class.forName(clazz));
+            } catch (ClassNotFoundException e) {
+                LOG.warn("Cannot add all classes to set from package storage", e);
+            }
+        }
+
+        Map<Class<? extends Page>, Map<Field, String>> repository = new ConcurrentHashMap<>();
+        for (Class<?> page : allClasses) {
+            List<Class> supers = ClassUtilsExt.getSuperclassesWithInheritance(page);
+            if (!supers.contains(Page.class) && !supers.contains(HtmlElement.class)) {
+                if (page.getName().contains("$")) {
+                    continue; //We allow private additional classes but skip it if its not extends Page
+                } else {
+                    throw new FactoryRuntimeException("Class " + page.getName() + " is not extended from Page class. Check you webdriver.pages.package property.");
+                }
+            }
+            List<Field> fields = FieldUtilsExt.getDeclaredFieldsWithInheritance(page);
+            Map<Field, String> fieldsMap = new HashMap<>();
+            for (Field field : fields) {
+                Class<?> fieldType = field.getType();
+                if (fieldType.equals(WebElement.class)) {
+
+                    ElementTitle titleAnnotation = field.getAnnotation(ElementTitle.class);
+                    if (titleAnnotation != null) {
+                        fieldsMap.put(field, titleAnnotation.value());
+                    } else {
+                        fieldsMap.put(field, field.getName());
+                    }
+                }
+            }
+
+            repository.put((Class<? extends Page>) page, fieldsMap);
+        }
+        LOG.debug("Page repository is built for {} classes", repository.size());
+        return repository;
     }
 
     /**
@@ -152,7 +238,7 @@ public class PageFactory {
      * @return the aspectsDisabled default false
      */
     public static boolean isAspectsDisabled() {
-        return aspectsDisabled;
+        return ExecutionContext.getCurrent().isAspectsDisabled();
     }
 
     /**
@@ -161,7 +247,7 @@ public class PageFactory {
      * @param aAspectsDisabled default false
      */
     public static void setAspectsDisabled(boolean aAspectsDisabled) {
-        aspectsDisabled = aAspectsDisabled;
+        ExecutionContext.getCurrent().setAspectsDisabled(aAspectsDisabled);
     }
 
     public static void setVideoRecorderToNull() {
@@ -196,14 +282,14 @@ public class PageFactory {
      * @return the isSharingProcessing
      */
     public static boolean isSharingProcessing() {
-        return isSharingProcessing;
+        return ExecutionContext.getCurrent().isSharingProcessing();
     }
 
     /**
      * @param aIsSharingProcessing the isSharingProcessing to set
      */
     public static void setSharingProcessing(boolean aIsSharingProcessing) {
-        isSharingProcessing = aIsSharingProcessing;
+        ExecutionContext.getCurrent().setSharingProcessing(aIsSharingProcessing);
     }
 
     /**
@@ -7,19 +7,32 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.sbtqa.tag.pagefactory.annotations.PageEntry;
+import ru.sbtqa.tag.pagefactory.exceptions.FactoryRuntimeException;
 import ru.sbtqa.tag.pagefactory.exceptions.PageInitializationException;
+import ru.sbtqa.tag.pagefactory.index.PageIndex;
 import ru.sbtqa.tag.qautils.errors.AutotestError;
 
 public class PageWrapper {
 
     private static final Logger LOG = LoggerFactory.getLogger(PageWrapper.class);
 
+    /**
+     * Page classes grouped by their titles. Built once per scanned package and
+     * shared between all wrappers of the JVM
+     */
+    private static final ConcurrentMap<String, Map<String, List<Class<?>>>> PAGE_TITLES_INDEX = new ConcurrentHashMap<>();
+
     private String currentPageTitle;
     private Page currentPage;
 
@@ -156,43 +169,157 @@ public class PageWrapper {
     }
 
     /**
+     * Find page class with the given title among the classes of the given
+     * package and its sub packages
      *
-     * @param packageName TODO
-     * @param title TODO
-     * @return
+     * @param packageName package to search in
+     * @param title value of {@link PageEntry#title()} or static title field
+     * @return page class or null if there is no page with such title
+     * @throws FactoryRuntimeException if several pages of the package have the
+     * same title
      */
     private Class<?> getPageClass(final String packageName, String title) {
-        ClassLoader loader = Thread.currentThread().getContextClassLoader();
-        final Set<Class<?>> allClasses = new HashSet<>();
-        try {
-            for (ClassPath.ClassInfo info : ClassPath.from(loader).getAllClasses()) {
-                if (info.getName().startsWith(packageName + ".")) {
-                    allClasses.add(info.load());
+        List<Class<?>> pages = getPageTitlesIndex(packageName).get(title);
+        if (pages == null) {
+            return null;
+        }
+
+        Class<?> found = null;
+        for (Class<?> page : pages) {
+            if (isInPackage(page.getName(), packageName)) {
+                if (found != null) {
+                    throw new FactoryRuntimeException(String.format("Page title '%s' is ambiguous in package '%s'. It is used by %s and %s",
+                            title, packageName, found.getName(), page.getName()));
                 }
+                found = page;
             }
-        } catch (IOException ex) {
-            LOG.warn("Failed to shape class info set", ex);
         }
+        return found;
+    }
 
-        for (Class<?> page : allClasses) {
-            String pageTitle = null;
-            if (null != page.getAnnotation(PageEntry.class)) {
-                pageTitle = page.getAnnotation(PageEntry.class).title();
-            } else {
+    /**
+     * Get page titles index that covers the given package. Index is built at
+     * the first request and then reused by all subsequent lookups
+     *
+     * @param packageName package to search in
+     * @return page classes grouped by their titles
+     */
+    private static Map<String, List<Class<?>>> getPageTitlesIndex(String packageName) {
+        for (Map.Entry<String, Map<String, List<Class<?>>>> index : PAGE_TITLES_INDEX.entrySet()) {
+            if (isInPackage(packageName, index.getKey())) {
+                return index.getValue();
+            }
+        }
+
+        Map<String, List<Class<?>>> index = PAGE_TITLES_INDEX.get(packageName);
+        if (index == null) {
+            index = indexPageTitles(packageName);
+            Map<String, List<Class<?>>> existing = PAGE_TITLES_INDEX.putIfAbsent(packageName, index);
+            if (existing != null) {
+                index = existing;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Drop page titles index, so it will be built again on the next lookup
+     */
+    static void invalidatePageTitlesIndex() {
+        PAGE_TITLES_INDEX.clear();
+    }
+
+    /**
+     * Group all page classes of the given package by their titles. Generated
+     * {@link PageIndex} is used if it covers the package, otherwise the
+     * classpath is scanned
+     *
+     * @param packageName package to scan
+     * @return unmodifiable index of page classes
+     */
+    private static Map<String, List<Class<?>>> indexPageTitles(final String packageName) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        Map<String, List<Class<?>>> index = new HashMap<>();
+        Map<String, String> generatedIndex = PageIndex.getInstance().getPageTitles(packageName);
+        if (!generatedIndex.isEmpty()) {
+            for (Map.Entry<String, String> page : generatedIndex.entrySet()) {
                 try {
-                    pageTitle = (String) FieldUtils.readStaticField(page, "title", true);
-                } catch (IllegalArgumentException | IllegalAccessException ex) {
-                    LOG.debug("Failed to read {} becase it is not page object", pageTitle, ex);
+                    Class<?> pageClass = Class.forName(page.getKey(), false, loader);
+                    String pageTitle = page.getValue() != null ? page.getValue() : getPageTitle(pageClass);
+                    if (pageTitle != null) {
+                        addPageTitle(index, pageClass, pageTitle);
+                    }
+                } catch (ClassNotFoundException ex) {
+                    LOG.warn("Page {} from the generated page index is not found", page.getKey(), ex);
+                }
+            }
+        } else {
+            try {
+                for (ClassPath.ClassInfo info : ClassPath.from(loader).getAllClasses()) {
+                    if (info.getName().startsWith(packageName + ".")) {
+                        Class<?> page = info.load();
+                        String pageTitle = getPageTitle(page);
+                        if (pageTitle != null) {
+                            addPageTitle(index, page, pageTitle);
+                        }
+                    }
                 }
+            } catch (IOException ex) {
+                LOG.warn("Failed to shape class info set", ex);
             }
-            if (pageTitle != null && pageTitle.equals(title)) {
-                return page;
+        }
+
+        for (Map.Entry<String, List<Class<?>>> entry : index.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        LOG.debug("Indexed {} page titles in package {}", index.size(), packageName);
+        return Collections.unmodifiableMap(index);
+    }
+
+    private static void addPageTitle(Map<String, List<Class<?>>> index, Class<?> page, String pageTitle) {
+        List<Class<?>> pages = index.get(pageTitle);
+        if (pages == null) {
+            pages = new ArrayList<>();
+            index.put(pageTitle, pages);
+        }
+        for (Class<?> registered : pages) {
+            if (registered.getPackage().equals(page.getPackage())) {
+                // Lookup of this title fails as ambiguous, other titles of the package are still available
+                LOG.warn("Duplicate page title '{}' in package '{}'. It is used by {} and {}",
+                        pageTitle, page.getPackage().getName(), registered.getName(), page.getName());
             }
         }
+        pages.add(page);
+    }
 
+    /**
+     * Get title of the page class from {@link PageEntry} annotation or from the
+     * static title field
+     *
+     * @param page class to check
+     * @return page title or null if the class is not a page object
+     */
+    private static String getPageTitle(Class<?> page) {
+        if (null != page.getAnnotation(PageEntry.class)) {
+            return page.getAnnotation(PageEntry.class).title();
+        }
+        try {
+            return (String) FieldUtils.readStaticField(page, "title", true);
+        } catch (IllegalArgumentException | IllegalAccessException | ClassCastException ex) {
+            LOG.debug("Failed to read title of {} because it is not page object", page, ex);
+        }
         return null;
     }
 
+    /**
+     * @param name class or package name
+     * @param packageName package name
+     * @return true if name belongs to the package or to one of its sub packages
+     */
+    private static boolean isInPackage(String name, String packageName) {
+        return name.equals(packageName) || name.startsWith(packageName + ".");
+    }
+
     /**
      * Run constructor of specified page class and put its instance into static
      * {@link #currentPage} variable
@@ -210,6 +337,9 @@ public class PageWrapper {
                 constructor.setAccessible(true);
                 currentPage = constructor.newInstance();
                 currentPageTitle = currentPage.getTitle();
+                currentPage.indexElements();
+                // Resolve localized action titles of the page before its first step
+                ActionTable.getPageActions(page);
                 return currentPage;
             } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
                 throw new PageInitializationException("Failed to initialize page '" + page + "'", e);
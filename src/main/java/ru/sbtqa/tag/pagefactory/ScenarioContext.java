@@ -4,15 +4,13 @@ import cucumber.api.Scenario;
 
 public class ScenarioContext {
 
-    private static Scenario scenario;
-
     private ScenarioContext() {}
 
     public static Scenario getScenario() {
-        return scenario;
+        return ExecutionContext.getCurrent().getScenario();
     }
 
     public static void setScenario(Scenario scenario) {
-        ScenarioContext.scenario = scenario;
+        ExecutionContext.getCurrent().setScenario(scenario);
     }
 }
@@ -0,0 +1,16 @@
+package ru.sbtqa.tag.pagefactory.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Field is filled by real keystrokes even in bulk fill, e.g. because of input
+ * masks or key handlers
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface RequiresKeystrokes {
+    }
@@ -0,0 +1,23 @@
+package ru.sbtqa.tag.pagefactory.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Number of elements fetched at once by a
+ * {@link ru.sbtqa.tag.pagefactory.support.PagedElementList} field
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface WindowSize {
+
+    /**
+     * Window size
+     *
+     * @return number of elements
+     */
+    public int value();
+    }
@@ -0,0 +1,166 @@
+package ru.sbtqa.tag.pagefactory.drivers;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.pagefactory.exceptions.FactoryRuntimeException;
+import ru.sbtqa.tag.qautils.properties.Props;
+
+/**
+ * Pool of mobile devices shared by scenarios running in parallel threads. Each
+ * scenario leases a device for its mobile driver and returns it when the
+ * driver is disposed.
+ * <p>
+ * Devices are listed in {@code appium.devices} property as comma separated
+ * {@code udid@appium url} pairs, e.g.
+ * {@code emulator-5554@http://127.0.0.1:4723/wd/hub,R58M12345@http://10.0.0.5:4723/wd/hub}.
+ * Scenario waits for a free device up to {@code appium.devices.lease.timeout}
+ * milliseconds
+ */
+public class DevicePool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DevicePool.class);
+
+    private static final String APPIUM_DEVICES = Props.get("appium.devices");
+    private static final long LEASE_TIMEOUT = Long.parseLong(Props.get("appium.devices.lease.timeout", "600000"));
+
+    private static volatile DevicePool instance;
+
+    private final List<Device> devices;
+    private final LinkedList<Device> free;
+    private final Map<String, Device> leased = new HashMap<>();
+
+    private DevicePool(List<Device> devices) {
+        this.devices = Collections.unmodifiableList(devices);
+        this.free = new LinkedList<>(devices);
+    }
+
+    /**
+     * @return true if devices pool is configured
+     */
+    public static boolean isEnabled() {
+        return !APPIUM_DEVICES.trim().isEmpty();
+    }
+
+    /**
+     * @return pool of configured devices
+     */
+    public static DevicePool getInstance() {
+        if (instance == null) {
+            synchronized (DevicePool.class) {
+                if (instance == null) {
+                    instance = new DevicePool(parseDevices(APPIUM_DEVICES));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return all configured devices
+     */
+    public List<Device> getDevices() {
+        return devices;
+    }
+
+    /**
+     * Take a free device, waiting for one if all are leased
+     *
+     * @return leased device
+     * @throws FactoryRuntimeException if there is no free device during lease
+     * timeout
+     */
+    synchronized Device acquire() {
+        long deadline = System.currentTimeMillis() + LEASE_TIMEOUT;
+        while (free.isEmpty()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new FactoryRuntimeException("There is no free device in pool during "
+                        + LEASE_TIMEOUT + " ms. Check 'appium.devices.lease.timeout' property");
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FactoryRuntimeException("Interrupted while waiting for a free device", e);
+            }
+        }
+        Device device = free.pollFirst();
+        leased.put(device.getUdid(), device);
+        LOG.info("Device {} is leased", device.getUdid());
+        return device;
+    }
+
+    /**
+     * Return the device to the pool
+     *
+     * @param udid udid of the leased device
+     */
+    synchronized void release(String udid) {
+        Device device = udid == null ? null : leased.remove(udid);
+        if (device == null) {
+            return;
+        }
+        free.addLast(device);
+        LOG.info("Device {} is released", udid);
+        notifyAll();
+    }
+
+    private static List<Device> parseDevices(String value) {
+        List<Device> result = new ArrayList<>();
+        for (String pair : value.split(",")) {
+            if (pair.trim().isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('@');
+            if (separator <= 0 || separator == pair.length() - 1) {
+                throw new FactoryRuntimeException("Device '" + pair.trim()
+                        + "' should be described as udid@appium url. Check 'appium.devices' property");
+            }
+            String udid = pair.substring(0, separator).trim();
+            String url = pair.substring(separator + 1).trim();
+            try {
+                result.add(new Device(udid, new URL(url)));
+            } catch (MalformedURLException e) {
+                throw new FactoryRuntimeException("Could not parse appium url of device '" + udid
+                        + "'. Check 'appium.devices' property", e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Device and the Appium server it is connected to
+     */
+    public static final class Device {
+
+        private final String udid;
+        private final URL appiumUrl;
+
+        private Device(String udid, URL appiumUrl) {
+            this.udid = udid;
+            this.appiumUrl = appiumUrl;
+        }
+
+        /**
+         * @return device udid
+         */
+        public String getUdid() {
+            return udid;
+        }
+
+        /**
+         * @return url of the Appium server
+         */
+        public URL getAppiumUrl() {
+            return appiumUrl;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.net.URL;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.pagefactory.ExecutionContext;
 import ru.sbtqa.tag.pagefactory.PageFactory;
 import static ru.sbtqa.tag.pagefactory.PageFactory.setAspectsDisabled;
 import ru.sbtqa.tag.pagefactory.exceptions.FactoryRuntimeException;
@@ -18,7 +19,6 @@ public class TagMobileDriver {
 
     private static final Logger LOG = LoggerFactory.getLogger(TagMobileDriver.class);
 
-    private static AppiumDriver<AndroidElement> mobileDriver;
     private static final String APPIUM_URL = Props.get("appium.url");
     private static final String APPIUM_DEVICE_NAME = Props.get("appium.device.name");
     private static final String APPIUM_DEVICE_PLATFORM = Props.get("appium.device.platform");
@@ -28,8 +28,6 @@ public class TagMobileDriver {
     private static final boolean APPIUM_CLICK_ADB = "true".equalsIgnoreCase(Props.get("appium.click.adb"));
     private static final String APPIUM_STRATEGIES_RESET = Props.get("appium.strategies.reset");
 
-    private static String deviceUdId;
-
     private TagMobileDriver() {
     }
 
@@ -38,10 +36,10 @@ public class TagMobileDriver {
             throw new FactoryRuntimeException("Failed to get mobile driver while environment is not mobile");
         }
 
-        if (null == mobileDriver) {
+        if (null == ExecutionContext.getCurrent().getMobileDriver()) {
             createDriver();
         }
-        return mobileDriver;
+        return ExecutionContext.getCurrent().getMobileDriver();
     }
 
     private static void createDriver() {
@@ -59,23 +57,44 @@ public class TagMobileDriver {
             capabilities.setCapability("fullReset","true");
         }
 
-        LOG.info("Capabilities are {}", capabilities);
-
+        DevicePool.Device device = null;
         URL url;
-        try {
-            url = new URL(APPIUM_URL);
-        } catch (MalformedURLException e) {
-            throw new FactoryRuntimeException("Could not parse appium url. Check 'appium.url' property", e);
+        if (DevicePool.isEnabled()) {
+            device = DevicePool.getInstance().acquire();
+            url = device.getAppiumUrl();
+            capabilities.setCapability("udid", device.getUdid());
+            if (APPIUM_DEVICE_NAME.isEmpty()) {
+                capabilities.setCapability("deviceName", device.getUdid());
+            }
+        } else {
+            try {
+                url = new URL(APPIUM_URL);
+            } catch (MalformedURLException e) {
+                throw new FactoryRuntimeException("Could not parse appium url. Check 'appium.url' property", e);
+            }
         }
 
+        LOG.info("Capabilities are {}", capabilities);
+
         setAspectsDisabled(true);
         LOG.debug("Aspect disabled");
-        mobileDriver = new AndroidDriver<>(url, capabilities);
+        AppiumDriver<AndroidElement> mobileDriver;
+        try {
+            mobileDriver = new AndroidDriver<>(url, capabilities);
+        } catch (RuntimeException e) {
+            if (device != null) {
+                DevicePool.getInstance().release(device.getUdid());
+            }
+            throw e;
+        }
         LOG.info("Mobile driver created {}", mobileDriver);
-        deviceUdId = (String) mobileDriver.getSessionDetails().get("deviceUDID");
+        setMobileDriver(mobileDriver);
+        ExecutionContext.getCurrent().setDeviceUdId(device != null
+                ? device.getUdid() : (String) mobileDriver.getSessionDetails().get("deviceUDID"));
     }
 
     public static void dispose() {
+        AppiumDriver<AndroidElement> mobileDriver = ExecutionContext.getCurrent().getMobileDriver();
         if (mobileDriver == null) {
             return;
         }
@@ -84,6 +103,10 @@ public class TagMobileDriver {
             mobileDriver.quit();
         } finally {
             setMobileDriver(null);
+            if (DevicePool.isEnabled()) {
+                DevicePool.getInstance().release(ExecutionContext.getCurrent().getDeviceUdId());
+                ExecutionContext.getCurrent().setDeviceUdId(null);
+            }
         }
 
     }
@@ -106,20 +129,20 @@ public class TagMobileDriver {
      * @return the deviceUdId
      */
     public static String getDeviceUDID() {
-        return deviceUdId;
+        return ExecutionContext.getCurrent().getDeviceUdId();
     }
 
     /**
      * @param aMobileDriver the mobileDriver to set
      */
     public static void setMobileDriver(AppiumDriver<AndroidElement> aMobileDriver) {
-        mobileDriver = aMobileDriver;
+        ExecutionContext.getCurrent().setMobileDriver(aMobileDriver);
     }
 
     /**
      * @return was driver initialized or not
      */
     public static boolean isDriverInitialized(){
-        return mobileDriver != null;
+        return ExecutionContext.getCurrent().getMobileDriver() != null;
     }
 }
@@ -44,9 +44,16 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.pagefactory.ExecutionContext;
 import ru.sbtqa.tag.pagefactory.PageFactory;
+import ru.sbtqa.tag.pagefactory.ScenarioContext;
 import ru.sbtqa.tag.pagefactory.exceptions.FactoryRuntimeException;
 import ru.sbtqa.tag.pagefactory.exceptions.UnsupportedBrowserException;
+import ru.sbtqa.tag.pagefactory.proxy.AssetCache;
+import ru.sbtqa.tag.pagefactory.proxy.HarArchive;
+import ru.sbtqa.tag.pagefactory.proxy.NetworkIdleTracker;
+import ru.sbtqa.tag.pagefactory.proxy.OriginTracker;
+import ru.sbtqa.tag.pagefactory.proxy.ProxyRules;
 import ru.sbtqa.tag.pagefactory.support.DesiredCapabilitiesParser;
 import ru.sbtqa.tag.pagefactory.support.Environment;
 import ru.sbtqa.tag.pagefactory.support.SelenoidCapabilitiesProvider;
@@ -68,8 +75,6 @@ public class TagWebDriver {
 
     private static final String IE_BROWSER_TYPE = "ie";
 
-    private static WebDriver webDriver;
-    private static BrowserMobProxy proxy;
     private static final int WEBDRIVER_CREATE_ATTEMPTS = Integer.parseInt(Props.get("webdriver.create.attempts", "3"));
     private static final String WEBDRIVER_PATH = Props.get("webdriver.drivers.path");
     private static final String WEBDRIVER_URL = Props.get("webdriver.url");
@@ -102,22 +107,37 @@ public class TagWebDriver {
             throw new FactoryRuntimeException("Failed to get web driver while environment is not web");
         }
 
-        if (null == webDriver) {
-            for (int i = 1; i <= WEBDRIVER_CREATE_ATTEMPTS; i++) {
-                LOG.info("Attempt #{} to start web driver", i);
-                try {
-                    createDriver();
-                    break;
-                } catch (UnreachableBrowserException e) {
-                    LOG.warn("Failed to create web driver. Attempt number {}", i, e);
-                    dispose();
-                } catch (UnsupportedBrowserException | MalformedURLException e) {
-                    LOG.error("Failed to create web driver", e);
-                    break;
-                }
+        if (null == getWebDriver()) {
+            if (WebDriverPool.isEnabled()) {
+                WebDriverPool.getInstance().acquire();
+            } else {
+                startDriver();
+            }
+            // Proxy of a driver kept from a previous scenario is bound to the scenario in SetupSteps
+            if (HarArchive.isEnabled()) {
+                HarArchive.setScenario(getProxy(), ScenarioContext.getScenario());
+            }
+        }
+        return getWebDriver();
+    }
+
+    /**
+     * Start a new web driver in the current execution context
+     */
+    static void startDriver() {
+        for (int i = 1; i <= WEBDRIVER_CREATE_ATTEMPTS; i++) {
+            LOG.info("Attempt #{} to start web driver", i);
+            try {
+                createDriver();
+                break;
+            } catch (UnreachableBrowserException e) {
+                LOG.warn("Failed to create web driver. Attempt number {}", i, e);
+                dispose();
+            } catch (UnsupportedBrowserException | MalformedURLException e) {
+                LOG.error("Failed to create web driver", e);
+                break;
             }
         }
-        return webDriver;
     }
 
     private static void createDriver() throws UnsupportedBrowserException, MalformedURLException {
@@ -157,6 +177,7 @@ public class TagWebDriver {
             SelenoidCapabilitiesProvider.apply(capabilities);
             setWebDriver(new RemoteWebDriver(remoteUrl, capabilities));
         }
+        WebDriver webDriver = getWebDriver();
         webDriver.manage().timeouts().pageLoadTimeout(getTimeOutInSeconds(), TimeUnit.SECONDS);
 
         if (WEBDRIVER_BROWSER_START_MAXIMIZED) {
@@ -187,8 +208,26 @@ public class TagWebDriver {
 
     private static void configureProxy(DesiredCapabilities capabilities) {
         if (!WEBDRIVER_PROXY.isEmpty()) {
-            setProxy(new BrowserMobProxyServer());
+            BrowserMobProxy proxy = new BrowserMobProxyServer();
+            setProxy(proxy);
             proxy.start(0);
+            // Requests answered by rules, replay or cache don't reach filters added after them
+            if (ProxyRules.isEnabled()) {
+                ProxyRules.install(proxy);
+            }
+            if (HarArchive.isEnabled()) {
+                HarArchive.install(proxy);
+            }
+            // Assets served from cache would be missing in recorded HAR
+            if (AssetCache.isEnabled() && !HarArchive.isRecording()) {
+                AssetCache.install(proxy);
+            }
+            if (NetworkIdleTracker.isEnabled()) {
+                NetworkIdleTracker.install(proxy);
+            }
+            if (WebDriverPool.isEnabled()) {
+                OriginTracker.install(proxy);
+            }
             Proxy seleniumProxy = ClientUtil.createSeleniumProxy(proxy);
             capabilities.setCapability(CapabilityType.PROXY, seleniumProxy);
         }
@@ -355,10 +394,15 @@ public class TagWebDriver {
     }
 
     public static void dispose() {
+        WebDriver webDriver = getWebDriver();
         if (webDriver == null) {
             return;
         }
 
+        if (WebDriverPool.isEnabled() && WebDriverPool.getInstance().release()) {
+            return;
+        }
+
         try {
             LOG.info("Checking any alert opened");
             WebDriverWait alertAwaiter = new WebDriverWait(webDriver, 2);
@@ -410,14 +454,25 @@ public class TagWebDriver {
      * @param aWebDriver the webDriver to set
      */
     public static void setWebDriver(WebDriver aWebDriver) {
-        webDriver = aWebDriver;
+        ExecutionContext.getCurrent().setWebDriver(aWebDriver);
+    }
+
+    private static WebDriver getWebDriver() {
+        return ExecutionContext.getCurrent().getWebDriver();
     }
 
     /**
      * @param aProxy the proxy to set
      */
     public static void setProxy(BrowserMobProxy aProxy) {
-        proxy = aProxy;
+        ExecutionContext.getCurrent().setProxy(aProxy);
+    }
+
+    /**
+     * @return the proxy or null if it is not configured
+     */
+    public static BrowserMobProxy getProxy() {
+        return ExecutionContext.getCurrent().getProxy();
     }
 
     /**
@@ -438,6 +493,6 @@ public class TagWebDriver {
      * @return was driver initialized or not
      */
     public static boolean isDriverInitialized() {
-        return webDriver != null;
+        return getWebDriver() != null;
     }
 }
@@ -0,0 +1,317 @@
+package ru.sbtqa.tag.pagefactory.drivers;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.lightbody.bmp.BrowserMobProxy;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.pagefactory.ExecutionContext;
+import ru.sbtqa.tag.pagefactory.proxy.OriginTracker;
+import ru.sbtqa.tag.qautils.properties.Props;
+
+/**
+ * Pool of started web driver sessions. Instead of quitting a driver after a
+ * scenario, its session is reset and given to the next scenario. Reset closes
+ * windows opened after the session start, clears cookies, local and session
+ * storage of every origin the proxy has seen and opens
+ * {@code webdriver.starting.url} again. Sessions failed the health check or
+ * used {@code webdriver.pool.max.uses} times are quit. Without proxy
+ * ({@code webdriver.proxy}) visited origins are unknown, so only the origin
+ * open at the end of a scenario is cleaned.
+ * <p>
+ * Pool is enabled by {@code webdriver.pool.size} property, that is a number of
+ * idle sessions kept started
+ */
+public class WebDriverPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WebDriverPool.class);
+
+    private static final int POOL_SIZE = Integer.parseInt(Props.get("webdriver.pool.size", "0"));
+    private static final int POOL_MAX_USES = Integer.parseInt(Props.get("webdriver.pool.max.uses", "0"));
+    private static final boolean POOL_PRESTART = Boolean.parseBoolean(Props.get("webdriver.pool.prestart", "false"));
+    private static final String WEBDRIVER_STARTING_URL = Props.get("webdriver.starting.url");
+    private static final String BLANK_PAGE = "about:blank";
+
+    private static volatile WebDriverPool instance;
+
+    private final LinkedList<Session> idle = new LinkedList<>();
+    private final Map<WebDriver, Session> leased = new IdentityHashMap<>();
+    private int starting = 0;
+
+    private WebDriverPool() {
+        if (Props.get("webdriver.proxy").isEmpty()) {
+            LOG.warn("Web driver pool is used without webdriver.proxy. Only the origin open at the end of a scenario"
+                    + " is cleaned on reset, cookies and storage of other origins are kept for the next scenario");
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                shutdown();
+            }
+        }, "webdriver-pool-shutdown"));
+    }
+
+    /**
+     * @return true if sessions pool is enabled
+     */
+    public static boolean isEnabled() {
+        return POOL_SIZE > 0;
+    }
+
+    /**
+     * @return pool of web driver sessions
+     */
+    public static WebDriverPool getInstance() {
+        if (instance == null) {
+            synchronized (WebDriverPool.class) {
+                if (instance == null) {
+                    instance = new WebDriverPool();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Take a healthy idle session, or start a new one, and bind it to the
+     * current execution context
+     */
+    void acquire() {
+        Session session;
+        while ((session = pollIdle()) != null) {
+            if (isHealthy(session)) {
+                break;
+            }
+            LOG.info("Pooled web driver session {} is not healthy. Quitting it", session.driver);
+            quit(session);
+        }
+
+        if (session == null) {
+            session = start();
+        }
+
+        if (session != null) {
+            session.uses++;
+            synchronized (this) {
+                leased.put(session.driver, session);
+            }
+            ExecutionContext context = ExecutionContext.getCurrent();
+            context.setWebDriver(session.driver);
+            context.setProxy(session.proxy);
+        }
+
+        if (POOL_PRESTART) {
+            prestart();
+        }
+    }
+
+    /**
+     * Unbind the session from the current execution context and return it to
+     * the pool. Session is quit if it is worn out, broken or there are enough
+     * idle sessions already
+     *
+     * @return false if the driver of the current context is not taken from
+     * pool
+     */
+    boolean release() {
+        ExecutionContext context = ExecutionContext.getCurrent();
+        WebDriver driver = context.getWebDriver();
+        Session session;
+        synchronized (this) {
+            session = leased.remove(driver);
+        }
+        if (session == null) {
+            return false;
+        }
+        context.setWebDriver(null);
+        context.setProxy(null);
+
+        if (POOL_MAX_USES > 0 && session.uses >= POOL_MAX_USES) {
+            LOG.info("Web driver session {} is used {} times. Recycling it", driver, session.uses);
+            quit(session);
+        } else if (!reset(session)) {
+            quit(session);
+        } else if (!offerIdle(session)) {
+            quit(session);
+        }
+        return true;
+    }
+
+    /**
+     * Quit all idle sessions
+     */
+    public void shutdown() {
+        List<Session> sessions;
+        synchronized (this) {
+            sessions = new ArrayList<>(idle);
+            idle.clear();
+        }
+        for (Session session : sessions) {
+            quit(session);
+        }
+    }
+
+    private synchronized Session pollIdle() {
+        return idle.pollFirst();
+    }
+
+    private synchronized boolean offerIdle(Session session) {
+        if (idle.size() >= POOL_SIZE) {
+            return false;
+        }
+        idle.addLast(session);
+        return true;
+    }
+
+    /**
+     * Start idle sessions in background until the pool is full
+     */
+    private void prestart() {
+        synchronized (this) {
+            if (idle.size() + starting >= POOL_SIZE) {
+                return;
+            }
+            starting++;
+        }
+        Thread starter = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Session session = start();
+                    if (session != null && !offerIdle(session)) {
+                        quit(session);
+                    }
+                } finally {
+                    synchronized (WebDriverPool.this) {
+                        starting--;
+                    }
+                    ExecutionContext.remove();
+                }
+            }
+        }, "webdriver-pool-starter");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    /**
+     * Start a new driver in the current context and take it out of there
+     */
+    private Session start() {
+        ExecutionContext context = ExecutionContext.getCurrent();
+        TagWebDriver.startDriver();
+        WebDriver driver = context.getWebDriver();
+        if (driver == null) {
+            return null;
+        }
+        Session session = new Session(driver, context.getProxy(), driver.getWindowHandle());
+        context.setWebDriver(null);
+        context.setProxy(null);
+        return session;
+    }
+
+    private boolean isHealthy(Session session) {
+        try {
+            session.driver.getWindowHandles();
+            ((JavascriptExecutor) session.driver).executeScript("return document.readyState;");
+            return true;
+        } catch (WebDriverException e) {
+            LOG.debug("Health check of web driver session failed", e);
+            return false;
+        }
+    }
+
+    private boolean reset(Session session) {
+        WebDriver driver = session.driver;
+        OriginTracker tracker = OriginTracker.get(session.proxy);
+        try {
+            try {
+                driver.switchTo().alert().dismiss();
+            } catch (NoAlertPresentException e) {
+                LOG.trace("There is no alert to dismiss", e);
+            }
+
+            Set<String> handles = driver.getWindowHandles();
+            if (!handles.contains(session.mainWindow)) {
+                LOG.info("Main window of web driver session {} is closed. Recycling it", driver);
+                return false;
+            }
+            for (String handle : handles) {
+                if (!handle.equals(session.mainWindow)) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(session.mainWindow);
+
+            if (tracker == null) {
+                // Visited origins are unknown without proxy, so only the current one is cleaned
+                clean(driver, driver.getCurrentUrl());
+            } else {
+                // Cookies and storage are bound to origin, so each visited origin is opened
+                // as an empty page served by proxy and cleaned there
+                tracker.setStubbing(true);
+                try {
+                    for (String origin : tracker.drainOrigins()) {
+                        driver.get(origin + "/");
+                        clean(driver, origin);
+                    }
+                } finally {
+                    tracker.setStubbing(false);
+                }
+            }
+            driver.get(WEBDRIVER_STARTING_URL.isEmpty() ? BLANK_PAGE : WEBDRIVER_STARTING_URL);
+            return true;
+        } catch (WebDriverException e) {
+            LOG.warn("Failed to reset web driver session {}", driver, e);
+            return false;
+        }
+    }
+
+    private void clean(WebDriver driver, String origin) {
+        driver.manage().deleteAllCookies();
+        try {
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); } catch (e) {}"
+                    + "try { window.sessionStorage.clear(); } catch (e) {}");
+        } catch (WebDriverException e) {
+            LOG.debug("Failed to clear web storage of {}", origin, e);
+        }
+    }
+
+    private void quit(Session session) {
+        try {
+            session.driver.quit();
+        } catch (WebDriverException e) {
+            LOG.debug("Failed to quit web driver session", e);
+        }
+        if (session.proxy != null && session.proxy.isStarted()) {
+            try {
+                session.proxy.stop();
+            } catch (RuntimeException e) {
+                LOG.debug("Failed to stop proxy", e);
+            }
+        }
+    }
+
+    private static final class Session {
+
+        private final WebDriver driver;
+        private final BrowserMobProxy proxy;
+        private final String mainWindow;
+        private int uses = 0;
+
+        private Session(WebDriver driver, BrowserMobProxy proxy, String mainWindow) {
+            this.driver = driver;
+            this.proxy = proxy;
+            this.mainWindow = mainWindow;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package ru.sbtqa.tag.pagefactory.extensions;
 
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import org.junit.Assert;
 import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
@@ -13,12 +15,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.sbtqa.tag.pagefactory.PageFactory;
 import ru.sbtqa.tag.pagefactory.exceptions.WaitException;
-import ru.sbtqa.tag.qautils.managers.DateManager;
+import ru.sbtqa.tag.pagefactory.support.DomObserver;
+import ru.sbtqa.tag.pagefactory.support.Poller;
 
 public class DriverExtension {
 
     private static final Logger LOG = LoggerFactory.getLogger(DriverExtension.class);
 
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
     /**
      * Wait until element present
      *
@@ -112,18 +117,20 @@ public class DriverExtension {
      * @param timeout in milliseconds
      * @param webElement a {@link org.openqa.selenium.WebElement} object.
      */
-    public static void waitUntilElementGoneFromDom(WebElement webElement, long timeout) {
-        Long start = DateManager.getCurrentTimestamp();
-        while (DateManager.getCurrentTimestamp() < start + timeout) {
-            try {
-                if (!webElement.isDisplayed()) {
-                    return;
+    public static void waitUntilElementGoneFromDom(final WebElement webElement, long timeout) {
+        Boolean isGone = Poller.withTimeout(timeout).until(new Poller.Condition<Boolean>() {
+            @Override
+            public Boolean evaluate() {
+                try {
+                    return !webElement.isDisplayed();
+                } catch (NoSuchElementException | StaleElementReferenceException e) {
+                    LOG.debug("There is no element {} in dom", webElement, e);
+                    return true;
                 }
-            } catch (NoSuchElementException | StaleElementReferenceException e) {
-                LOG.debug("There is no element {} in dom", webElement, e);
-                return;
             }
-            sleep(1);
+        });
+        if (isGone != null) {
+            return;
         }
         throw new NoSuchElementException("Timed out after " + timeout + " milliseconds waiting for web element '" + webElement.toString() + "' gone from DOM");
     }
@@ -145,18 +152,20 @@ public class DriverExtension {
      * @param timeout a long.
      * @throws ru.sbtqa.tag.pagefactory.exceptions.WaitException TODO
      */
-    public static void waitForElementGetEnabled(WebElement webElement, long timeout) throws WaitException {
-        long timeoutTime = DateManager.getCurrentTimestamp() + timeout;
-        while (timeoutTime > DateManager.getCurrentTimestamp()) {
-            sleep(1);
-            try {
-                if (webElement.isEnabled()) {
-                    return;
+    public static void waitForElementGetEnabled(final WebElement webElement, long timeout) throws WaitException {
+        Boolean isEnabled = Poller.withTimeout(timeout).until(new Poller.Condition<Boolean>() {
+            @Override
+            public Boolean evaluate() {
+                try {
+                    return webElement.isEnabled();
+                } catch (Exception e) {
+                    LOG.debug("Target element still not enable", e);
+                    return false;
                 }
-            } catch (Exception e) {
-                LOG.debug("Target element still not enable", e);
             }
-
+        });
+        if (isEnabled != null) {
+            return;
         }
         throw new WaitException("Timed out after '" + timeout + "' milliseconds waiting for availability of '" + webElement + "'");
     }
@@ -187,25 +196,29 @@ public class DriverExtension {
      * @param decision true - accept, false - dismiss
      * @throws WaitException in case if alert didn't appear during default wait timeout
      */
-    public static void interactWithAlert(String messageText, boolean decision) throws WaitException {
-        long timeoutTime = System.currentTimeMillis() + PageFactory.getTimeOut();
-
-        while (timeoutTime > System.currentTimeMillis()) {
-            try {
-                Alert alert = PageFactory.getDriver().switchTo().alert();
-                if (!messageText.isEmpty()) {
-                    Assert.assertEquals(alert.getText(), messageText);
+    public static void interactWithAlert(final String messageText, final boolean decision) throws WaitException {
+        Boolean isHandled = Poller.withTimeout(PageFactory.getTimeOut()).until(new Poller.Condition<Boolean>() {
+            @Override
+            public Boolean evaluate() {
+                try {
+                    Alert alert = PageFactory.getDriver().switchTo().alert();
+                    if (!messageText.isEmpty()) {
+                        Assert.assertEquals(alert.getText(), messageText);
+                    }
+                    if (decision) {
+                        alert.accept();
+                    } else {
+                        alert.dismiss();
+                    }
+                    return true;
+                } catch (Exception e) {
+                    LOG.debug("Alert has not appeared yet", e);
+                    return false;
                 }
-                if (decision) {
-                    alert.accept();
-                } else {
-                    alert.dismiss();
-                }
-                return;
-            } catch (Exception e) {
-                LOG.debug("Alert has not appeared yet", e);
             }
-            sleep(1);
+        });
+        if (isHandled != null) {
+            return;
         }
         throw new WaitException("Timed out after '" + PageFactory.getTimeOutInSeconds() + "' seconds waiting for alert to accept");
     }
@@ -219,8 +232,19 @@ public class DriverExtension {
      * @return true if exists
      */
     public static boolean checkElementWithTextIsPresent(String text, int timeout) {
+        long timeoutTime = System.currentTimeMillis() + timeout * 1000L;
+        if (DomObserver.isEnabled()) {
+            Boolean isObserved = DomObserver.waitForText(WHITESPACES.matcher(text).replaceAll(" "), false, true, timeout * 1000L);
+            if (isObserved != null) {
+                if (!isObserved) {
+                    LOG.debug("Element with text {} is not located on page", text);
+                }
+                return isObserved;
+            }
+        }
         try {
             new WebDriverWait(PageFactory.getDriver(), timeout)
+                    .withTimeout(Math.max(0, timeoutTime - System.currentTimeMillis()), TimeUnit.MILLISECONDS)
                     .until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//*[contains(., '" + text + "')]")));
             return true;
         } catch (TimeoutException e) {
@@ -228,17 +252,4 @@ public class DriverExtension {
             return false;
         }
     }
-
-    /**
-     *
-     * @param sec a int.
-     */
-    private static void sleep(int sec) {
-        try {
-            Thread.sleep(sec * 1000L);
-        } catch (InterruptedException e) {
-            LOG.warn("Error while thread is sleeping", e);
-            Thread.currentThread().interrupt();
-        }
-    }
 }
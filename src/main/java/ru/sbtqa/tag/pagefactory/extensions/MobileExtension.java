@@ -2,10 +2,12 @@ package ru.sbtqa.tag.pagefactory.extensions;
 
 import java.util.List;
 import io.appium.java_client.MobileBy;
+import org.openqa.selenium.By;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.sbtqa.tag.pagefactory.PageFactory;
@@ -23,6 +25,7 @@ public class MobileExtension {
     private static final double INDENT_TOP = 0.20;
     private static final double INDENT_LEFT = 0.30;
     private static final double INDENT_RIGHT = 0.70;
+    private static final By VISIBLE_TEXTS = MobileBy.AndroidUIAutomator("new UiSelector().textMatches(\"(?s).+\")");
 
     /**
      * Swipe element to direction
@@ -133,7 +136,7 @@ public class MobileExtension {
      * @throws SwipeException if there is an error while swiping
      */
     public static void swipeToText(DirectionStrategy direction, String text, MatchStrategy strategy) throws SwipeException { 
-	swipeToText(direction, text, MatchStrategy.EXACT, DEFAULT_SWIPE_DEPTH);
+	swipeUntilText(direction, text, strategy, DEFAULT_SWIPE_DEPTH);
     }
     
     /**
@@ -144,36 +147,78 @@ public class MobileExtension {
      * @param strategy contains or exact
      * @param depth the amount of swipe action
      * @throws SwipeException if there is an error while swiping
+     * @deprecated use {@link #swipeUntilText(DirectionStrategy, String, MatchStrategy, int)}
      */
     @Deprecated
     public static void swipeToText(DirectionStrategy direction, String text, MatchStrategy strategy, int depth) throws SwipeException {
+	swipeUntilText(direction, text, strategy, depth);
+    }
+
+    /**
+     * Swipe until an element with the text becomes visible. Elements with the
+     * text are searched by a single UiSelector query. The end of the list is
+     * detected by a fingerprint of the visible text elements instead of the
+     * whole page source
+     *
+     * @param direction swipe direction
+     * @param text text on page to swipe to
+     * @param strategy contains or exact
+     * @param depth the amount of swipe action
+     * @return found element
+     * @throws SwipeException if the text is not found or swipe depth is
+     * reached
+     */
+    public static WebElement swipeUntilText(DirectionStrategy direction, String text, MatchStrategy strategy, int depth) throws SwipeException {
+	By candidates = MobileBy.AndroidUIAutomator(getTextSelector(text, strategy));
+	String fingerprint = null;
 	for (int depthCounter = 0; depthCounter < depth; depthCounter++) {
-	    String oldPageSource = PageFactory.getDriver().getPageSource();
-	    switch (strategy) {
-		case EXACT:
-		    if (PageFactory.getMobileDriver().findElementsByXPath("//*[@text='" + text + "']").size() > 0) {
-			return;
-		    }
-		case CONTAINS:
-		    List<WebElement> textViews = PageFactory.getMobileDriver().findElementsByClassName("android.widget.TextView");
-		    if (textViews.size() > 0) {
-			for (WebElement textView : textViews) {
-			    if (textView.getText().contains(text)) {
-				return;
-			    }
-			}
-		    }
+	    List<WebElement> found = PageFactory.getDriver().findElements(candidates);
+	    if (!found.isEmpty()) {
+		return found.get(0);
+	    }
+
+	    if (fingerprint == null) {
+		fingerprint = getScreenFingerprint();
 	    }
 	    swipe(direction);
 
-	    if (PageFactory.getDriver().getPageSource().equals(oldPageSource)) {
+	    String swipedFingerprint = getScreenFingerprint();
+	    if (swipedFingerprint.equals(fingerprint)) {
 		throw new SwipeException("Swiping limit is reached. Text not found");
 	    }
+	    fingerprint = swipedFingerprint;
 	}
 
 	throw new SwipeException("Swiping depth is reached. Text not found");
     }
 
+    private static String getTextSelector(String text, MatchStrategy strategy) throws SwipeException {
+	String quoted = "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+	switch (strategy) {
+	    case EXACT:
+		return "new UiSelector().text(" + quoted + ")";
+	    case CONTAINS:
+		return "new UiSelector().textContains(" + quoted + ")";
+	    default:
+		throw new SwipeException("Please use correct matching strategy. Available options: 'EXACT' or 'CONTAINS'.");
+	}
+    }
+
+    /**
+     * Fingerprint is built of ids of visible text elements returned by a single
+     * query, without a request per element. Driver keeps the id of a UI node
+     * while it is on the screen, so ids change only when elements are scrolled.
+     * Fixed toolbars and headers stay the same after a swipe, so all visible
+     * elements are taken into account, not just the first and the last ones
+     */
+    private static String getScreenFingerprint() {
+	StringBuilder fingerprint = new StringBuilder();
+	for (WebElement text : PageFactory.getDriver().findElements(VISIBLE_TEXTS)) {
+	    fingerprint.append(((RemoteWebElement) text).getId()).append('\n');
+	}
+	return fingerprint.toString();
+    }
+
     /**
      * Swipe until the text becomes visible
      *
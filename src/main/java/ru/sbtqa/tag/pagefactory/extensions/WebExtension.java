@@ -1,20 +1,26 @@
 package ru.sbtqa.tag.pagefactory.extensions;
 
 import java.util.Set;
+import java.util.regex.Pattern;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.sbtqa.tag.pagefactory.PageFactory;
+import ru.sbtqa.tag.pagefactory.drivers.TagWebDriver;
 import ru.sbtqa.tag.pagefactory.exceptions.WaitException;
+import ru.sbtqa.tag.pagefactory.proxy.NetworkIdleTracker;
+import ru.sbtqa.tag.pagefactory.support.DomObserver;
+import ru.sbtqa.tag.pagefactory.support.Poller;
 import static ru.sbtqa.tag.pagefactory.extensions.DriverExtension.waitUntilElementAppearsInDom;
-import ru.sbtqa.tag.qautils.managers.DateManager;
 
 public class WebExtension {
 
     private static final Logger LOG = LoggerFactory.getLogger(WebExtension.class);
 
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
     /**
      * Get outer element text. Used for get text from checkboxes and radio
      * buttons
@@ -48,25 +54,62 @@ public class WebExtension {
      * @param stopRecursion TODO
      * @throws ru.sbtqa.tag.pagefactory.exceptions.WaitException TODO
      */
-    public static void waitForPageToLoad(boolean... stopRecursion) throws WaitException {
+    public static void waitForPageToLoad(final boolean... stopRecursion) throws WaitException {
 	long timeoutTime = System.currentTimeMillis() + PageFactory.getTimeOut();
-	while (timeoutTime > System.currentTimeMillis()) {
-	    try {
-		if ("complete".equals((String) ((JavascriptExecutor) PageFactory.getWebDriver()).executeScript("return document.readyState"))) {
-		    return;
-		}
-		sleep(1);
-	    } catch (Exception | AssertionError e) {
-		LOG.debug("Page does not become to ready state", e);
-		PageFactory.getWebDriver().navigate().refresh();
-		LOG.debug("Page refreshed");
-		if ((stopRecursion.length == 0) || (stopRecursion.length > 0 && !stopRecursion[0])) {
-		    waitForPageToLoad(true);
+	waitForReadyState((stopRecursion.length == 0) || (stopRecursion.length > 0 && !stopRecursion[0]));
+	waitForNetworkIdle(timeoutTime);
+    }
+
+    /**
+     * Wait until document is complete. If the state can't be read, page is
+     * refreshed and waited for once again
+     *
+     * @param isRetryAllowed true to wait again after refresh
+     * @throws WaitException if page is not complete in time
+     */
+    private static void waitForReadyState(final boolean isRetryAllowed) throws WaitException {
+	final boolean[] isRefreshed = {false};
+	Boolean isLoaded = Poller.withTimeout(PageFactory.getTimeOut()).until(new Poller.Condition<Boolean>() {
+	    @Override
+	    public Boolean evaluate() {
+		try {
+		    return "complete".equals((String) ((JavascriptExecutor) PageFactory.getWebDriver()).executeScript("return document.readyState"));
+		} catch (Exception | AssertionError e) {
+		    LOG.debug("Page does not become to ready state", e);
+		    PageFactory.getWebDriver().navigate().refresh();
+		    LOG.debug("Page refreshed");
+		    isRefreshed[0] = isRetryAllowed;
+		    return isRetryAllowed;
 		}
 	    }
+	});
+	if (isLoaded == null) {
+	    throw new WaitException("Timed out after " + PageFactory.getTimeOutInSeconds() + " seconds waiting for preparedness of page");
+	}
+	if (isRefreshed[0]) {
+	    waitForReadyState(false);
 	}
+    }
 
-	throw new WaitException("Timed out after " + PageFactory.getTimeOutInSeconds() + " seconds waiting for preparedness of page");
+    /**
+     * Wait until there are no pending requests in proxy, if page readiness
+     * mode is network idle and proxy is configured
+     *
+     * @param timeoutTime time to wait until
+     * @throws WaitException if network doesn't become idle in time
+     */
+    private static void waitForNetworkIdle(long timeoutTime) throws WaitException {
+	if (!NetworkIdleTracker.isEnabled()) {
+	    return;
+	}
+	NetworkIdleTracker tracker = NetworkIdleTracker.get(TagWebDriver.getProxy());
+	if (tracker == null) {
+	    LOG.debug("Proxy is not configured. Network idleness is not checked");
+	    return;
+	}
+	if (!tracker.waitForIdle(timeoutTime - System.currentTimeMillis())) {
+	    throw new WaitException("Timed out after " + PageFactory.getTimeOutInSeconds() + " seconds waiting for network idle");
+	}
     }
 
     /**
@@ -75,13 +118,15 @@ public class WebExtension {
      * @param timeout in milliseconds
      * @throws ru.sbtqa.tag.pagefactory.exceptions.WaitException TODO
      */
-    public static void waitForTextInInputExists(WebElement webElement, long timeout) throws WaitException {
-	long timeoutTime = DateManager.getCurrentTimestamp() + timeout;
-	while (timeoutTime > DateManager.getCurrentTimestamp()) {
-	    sleep(1);
-	    if (!webElement.getAttribute("value").isEmpty()) {
-		return;
+    public static void waitForTextInInputExists(final WebElement webElement, long timeout) throws WaitException {
+	Boolean isFilled = Poller.withTimeout(timeout).until(new Poller.Condition<Boolean>() {
+	    @Override
+	    public Boolean evaluate() {
+		return !webElement.getAttribute("value").isEmpty();
 	    }
+	});
+	if (isFilled != null) {
+	    return;
 	}
 	throw new WaitException("Timed out after '" + timeout + "' milliseconds waiting for existence of '" + webElement + "'");
     }
@@ -93,14 +138,26 @@ public class WebExtension {
      * @param shouldTextBePresent boolean, self explanatory
      * @throws ru.sbtqa.tag.pagefactory.exceptions.WaitException TODO
      */
-    public static void waitForTextPresenceInPageSource(String text, boolean shouldTextBePresent) throws WaitException {
+    public static void waitForTextPresenceInPageSource(String text, final boolean shouldTextBePresent) throws WaitException {
 	long timeoutTime = System.currentTimeMillis() + PageFactory.getTimeOut();
-	WebElement body = waitUntilElementAppearsInDom(By.tagName("body"));
-	while (timeoutTime > System.currentTimeMillis()) {
-	    sleep(1);
-	    if (body.getText().replaceAll("\\s+", "").contains(text.replaceAll("\\s+", "")) == shouldTextBePresent) {
+	final String expectedText = WHITESPACES.matcher(text).replaceAll("");
+	if (DomObserver.isEnabled()) {
+	    Boolean isObserved = DomObserver.waitForText(expectedText, true, shouldTextBePresent, PageFactory.getTimeOut());
+	    if (Boolean.TRUE.equals(isObserved)) {
 		return;
+	    } else if (Boolean.FALSE.equals(isObserved)) {
+		throw new WaitException("Timed out after '" + PageFactory.getTimeOutInSeconds() + "' seconds waiting for presence of '" + text + "' in page source");
+	    }
+	}
+	final WebElement body = waitUntilElementAppearsInDom(By.tagName("body"));
+	Boolean isMatched = Poller.withTimeout(timeoutTime - System.currentTimeMillis()).until(new Poller.Condition<Boolean>() {
+	    @Override
+	    public Boolean evaluate() {
+		return WHITESPACES.matcher(body.getText()).replaceAll("").contains(expectedText) == shouldTextBePresent;
 	    }
+	});
+	if (isMatched != null) {
+	    return;
 	}
 	throw new WaitException("Timed out after '" + PageFactory.getTimeOutInSeconds() + "' seconds waiting for presence of '" + text + "' in page source");
     }
@@ -112,21 +169,25 @@ public class WebExtension {
      * @return TODO
      * @throws ru.sbtqa.tag.pagefactory.exceptions.WaitException TODO
      */
-    public static String findNewWindowHandle(Set<String> existingHandles, int timeout) throws WaitException {
-	long timeoutTime = System.currentTimeMillis() + timeout;
-
-	while (timeoutTime > System.currentTimeMillis()) {
-	    Set<String> currentHandles = PageFactory.getWebDriver().getWindowHandles();
-
-	    if (currentHandles.size() != existingHandles.size()
-		  || (currentHandles.size() == existingHandles.size() && !currentHandles.equals(existingHandles))) {
-		for (String currentHandle : currentHandles) {
-		    if (!existingHandles.contains(currentHandle)) {
-			return currentHandle;
+    public static String findNewWindowHandle(final Set<String> existingHandles, int timeout) throws WaitException {
+	String newHandle = Poller.withTimeout(timeout).until(new Poller.Condition<String>() {
+	    @Override
+	    public String evaluate() {
+		Set<String> currentHandles = PageFactory.getWebDriver().getWindowHandles();
+
+		if (currentHandles.size() != existingHandles.size()
+		      || (currentHandles.size() == existingHandles.size() && !currentHandles.equals(existingHandles))) {
+		    for (String currentHandle : currentHandles) {
+			if (!existingHandles.contains(currentHandle)) {
+			    return currentHandle;
+			}
 		    }
 		}
+		return null;
 	    }
-	    sleep(1);
+	});
+	if (newHandle != null) {
+	    return newHandle;
 	}
 
 	throw new WaitException("Timed out after '" + timeout + "' milliseconds waiting for new modal window");
@@ -177,17 +238,4 @@ public class WebExtension {
 	    LOG.debug("Something went wrong with element highlight", e);
 	}
     }
-
-    /**
-     *
-     * @param sec a int.
-     */
-    private static void sleep(int sec) {
-	try {
-	    Thread.sleep(sec * 1000L);
-	} catch (InterruptedException e) {
-	    LOG.warn("Error while thread is sleeping", e);
-	    Thread.currentThread().interrupt();
-	}
-    }
 }
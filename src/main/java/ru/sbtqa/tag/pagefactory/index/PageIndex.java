@@ -0,0 +1,205 @@
+package ru.sbtqa.tag.pagefactory.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Build-time index of page objects generated by {@link PageIndexProcessor}.
+ * Lets the framework find pages, blocks and page titles without scanning the
+ * classpath at runtime. If there is no generated index on the
+ * classpath, the index is empty and callers fall back to reflective scanning
+ */
+public class PageIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PageIndex.class);
+
+    /**
+     * Classpath location of the generated index. Every compilation unit that
+     * runs the processor produces its own resource, all of them are merged
+     */
+    public static final String RESOURCE = "META-INF/page-factory/page-index";
+
+    static final String TYPE = "type";
+    static final String PAGE = "page";
+    static final char SEPARATOR = '\t';
+
+    private static volatile PageIndex instance;
+
+    private final Set<String> types = new LinkedHashSet<>();
+    private final Map<String, String> pageTitles = new LinkedHashMap<>();
+
+    private PageIndex() {
+    }
+
+    /**
+     * Get index merged from all generated resources of the context class
+     * loader. Resources are read only once per JVM
+     *
+     * @return page index. Could be empty, but never null
+     */
+    public static PageIndex getInstance() {
+        if (instance == null) {
+            synchronized (PageIndex.class) {
+                if (instance == null) {
+                    instance = load(Thread.currentThread().getContextClassLoader());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Drop loaded index, so it will be read again on the next request
+     */
+    public static synchronized void invalidate() {
+        instance = null;
+    }
+
+    private static PageIndex load(ClassLoader loader) {
+        PageIndex index = new PageIndex();
+        try {
+            Enumeration<URL> resources = loader.getResources(RESOURCE);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isEmpty() && !line.startsWith("#")) {
+                            index.add(split(line));
+                        }
+                    }
+                }
+                LOG.debug("Page index loaded from {}", resource);
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to read page index. Classpath scanning will be used instead", e);
+            return new PageIndex();
+        }
+        return index;
+    }
+
+    private void add(List<String> record) {
+        if (record.size() < 2) {
+            LOG.debug("Truncated page index record {} is skipped", record);
+            return;
+        }
+        String kind = record.get(0);
+        String type = record.get(1);
+        types.add(type);
+        switch (kind) {
+            case TYPE:
+                break;
+            case PAGE:
+                pageTitles.put(type, record.size() > 2 ? record.get(2) : null);
+                break;
+            default:
+                LOG.debug("Unknown page index record '{}' is skipped", kind);
+        }
+    }
+
+    /**
+     * @return true if there is no generated index on the classpath
+     */
+    public boolean isEmpty() {
+        return types.isEmpty();
+    }
+
+    /**
+     * Get names of all indexed classes (pages and blocks) that belong to the
+     * given package or to one of its sub packages
+     *
+     * @param packageName package to search in
+     * @return binary class names
+     */
+    public List<String> getTypes(String packageName) {
+        List<String> found = new ArrayList<>();
+        for (String type : types) {
+            if (type.startsWith(packageName + ".")) {
+                found.add(type);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Get pages of the given package and its sub packages with their titles
+     *
+     * @param packageName package to search in
+     * @return page class names mapped to page titles. Title is null if it is
+     * not known at compile time and should be read from the class
+     */
+    public Map<String, String> getPageTitles(String packageName) {
+        Map<String, String> found = new LinkedHashMap<>();
+        for (Map.Entry<String, String> page : pageTitles.entrySet()) {
+            if (page.getKey().startsWith(packageName + ".")) {
+                found.put(page.getKey(), page.getValue());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Join record values into a single index line, escaping separators
+     *
+     * @param values record values
+     * @return index line
+     */
+    static String join(String... values) {
+        StringBuilder line = new StringBuilder();
+        for (String value : values) {
+            if (line.length() > 0) {
+                line.append(SEPARATOR);
+            }
+            for (char c : value.toCharArray()) {
+                switch (c) {
+                    case '\\':
+                        line.append("\\\\");
+                        break;
+                    case SEPARATOR:
+                        line.append("\\t");
+                        break;
+                    case '\n':
+                        line.append("\\n");
+                        break;
+                    case '\r':
+                        line.append("\\r");
+                        break;
+                    default:
+                        line.append(c);
+                }
+            }
+        }
+        return line.toString();
+    }
+
+    static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == SEPARATOR) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\\' && i + 1 < line.length()) {
+                char escaped = line.charAt(++i);
+                value.append(escaped == 't' ? '\t' : escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
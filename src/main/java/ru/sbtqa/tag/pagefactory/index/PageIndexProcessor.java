@@ -0,0 +1,190 @@
+package ru.sbtqa.tag.pagefactory.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import ru.sbtqa.tag.pagefactory.annotations.PageEntry;
+
+/**
+ * Optional annotation processor that writes {@link PageIndex} of the compiled
+ * page objects. It is not registered as a service, enable it explicitly in the
+ * project that contains page objects, e.g. with
+ * {@code -processor ru.sbtqa.tag.pagefactory.index.PageIndexProcessor} or
+ * {@code <annotationProcessors>} of maven-compiler-plugin.
+ * <p>
+ * Incremental compilation sees only the changed classes, so records of the
+ * previously written index are kept for the classes that still exist and were
+ * not compiled again
+ */
+public class PageIndexProcessor extends AbstractProcessor {
+
+    private static final String PAGE_CLASS = "ru.sbtqa.tag.pagefactory.Page";
+    private static final String BLOCK_CLASS = "ru.yandex.qatools.htmlelements.element.HtmlElement";
+    private static final String PAGE_TITLE_FIELD = "title";
+
+    private final Map<String, List<String>> records = new LinkedHashMap<>();
+    private final Set<String> processedTypes = new LinkedHashSet<>();
+    private final Set<Element> originatingElements = new LinkedHashSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // Pages without any annotation are indexed as well
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        for (Element element : roundEnv.getRootElements()) {
+            if (element instanceof TypeElement) {
+                indexType((TypeElement) element);
+            }
+        }
+        return false;
+    }
+
+    private void indexType(TypeElement type) {
+        String typeName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        processedTypes.add(typeName);
+
+        boolean isPage = isSubclassOf(type, PAGE_CLASS);
+        if (isPage || isSubclassOf(type, BLOCK_CLASS)) {
+            List<String> typeRecords = new ArrayList<>();
+            typeRecords.add(PageIndex.join(PageIndex.TYPE, typeName));
+            PageEntry pageEntry = type.getAnnotation(PageEntry.class);
+            String title = pageEntry != null ? pageEntry.title() : isPage ? getStaticTitle(type) : null;
+            if (title != null) {
+                typeRecords.add(PageIndex.join(PageIndex.PAGE, typeName, title));
+            } else if (isPage) {
+                // Title is not a constant of the class itself, e.g. it is inherited, so it is read at runtime
+                typeRecords.add(PageIndex.join(PageIndex.PAGE, typeName));
+            }
+            records.put(typeName, typeRecords);
+            originatingElements.add(type);
+        }
+
+        for (Element member : type.getEnclosedElements()) {
+            if (member instanceof TypeElement) {
+                indexType((TypeElement) member);
+            }
+        }
+    }
+
+    private static boolean isSubclassOf(TypeElement type, String className) {
+        TypeMirror superclass = type.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (element.getQualifiedName().contentEquals(className)) {
+                return true;
+            }
+            superclass = element.getSuperclass();
+        }
+        return false;
+    }
+
+    private static String getStaticTitle(TypeElement type) {
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.FIELD
+                    && member.getSimpleName().contentEquals(PAGE_TITLE_FIELD)
+                    && member.getModifiers().contains(Modifier.STATIC)) {
+                Object value = ((VariableElement) member).getConstantValue();
+                return value instanceof String ? (String) value : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read records of the index written by the previous compilation, except
+     * the ones of classes compiled now or removed since then
+     */
+    private Map<String, List<String>> readPreviousIndex() {
+        Map<String, List<String>> previous = new LinkedHashMap<>();
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", PageIndex.RESOURCE);
+            try (BufferedReader reader = new BufferedReader(resource.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    List<String> record = PageIndex.split(line);
+                    if (record.size() < 2) {
+                        continue;
+                    }
+                    String type = record.get(1);
+                    if (processedTypes.contains(type)
+                            || processingEnv.getElementUtils().getTypeElement(type.replace('$', '.')) == null) {
+                        continue;
+                    }
+                    List<String> typeRecords = previous.get(type);
+                    if (typeRecords == null) {
+                        typeRecords = new ArrayList<>();
+                        previous.put(type, typeRecords);
+                    }
+                    typeRecords.add(line);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // There is no previous index or it can't be read, so the whole index is written again
+        }
+        return previous;
+    }
+
+    private void writeIndex() {
+        if (processedTypes.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<String>> index = readPreviousIndex();
+        index.putAll(records);
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    PageIndex.RESOURCE, originatingElements.toArray(new Element[originatingElements.size()]));
+            try (Writer writer = resource.openWriter()) {
+                writer.write("# Generated by " + getClass().getName() + ". Do not edit" + System.lineSeparator());
+                for (List<String> typeRecords : index.values()) {
+                    for (String record : typeRecords) {
+                        writer.write(record);
+                        writer.write(System.lineSeparator());
+                    }
+                }
+            }
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "Page index of " + index.size() + " types is written to " + PageIndex.RESOURCE);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Failed to write page index: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package ru.sbtqa.tag.pagefactory.proxy;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.LastHttpContent;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import net.lightbody.bmp.BrowserMobProxy;
+import net.lightbody.bmp.filters.HttpsAwareFiltersAdapter;
+import org.littleshoot.proxy.HttpFilters;
+import org.littleshoot.proxy.HttpFiltersAdapter;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
+import org.littleshoot.proxy.impl.ProxyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.pagefactory.exceptions.FactoryRuntimeException;
+import ru.sbtqa.tag.qautils.properties.Props;
+
+/**
+ * Cache of static assets shared by all proxies started in this JVM, so a new
+ * browser session with a cold profile gets js, css and images from the proxy
+ * instead of the application server.
+ * <p>
+ * Only successful GET responses to urls matching
+ * {@code webdriver.proxy.cache.patterns} are cached. Bodies are stored by
+ * their SHA-256 digest, so the same content under different urls is kept once.
+ * Bodies are held in memory up to {@code webdriver.proxy.cache.memory}
+ * megabytes, least recently used ones are moved to {@code page-factory-assets}
+ * subdirectory of {@code webdriver.proxy.cache.dir} up to
+ * {@code webdriver.proxy.cache.disk} megabytes and then dropped.
+ * <p>
+ * With {@code webdriver.proxy.cache.headers = honor} responses are cached for
+ * the time allowed by their Cache-Control or Expires headers. With
+ * {@code override} they are cached until eviction regardless of headers
+ */
+public class AssetCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AssetCache.class);
+
+    private static final String HEADERS_OVERRIDE = "override";
+    private static final String CACHE_HEADER = "X-Page-Factory-Cache";
+    private static final String DEFAULT_PATTERNS = "https?://[^?#]+\\.(js|css|png|jpe?g|gif|svg|ico|woff2?|ttf|eot)([?#].*)?";
+    private static final long MEGABYTE = 1024L * 1024L;
+    private static final int MAX_URLS = 10000;
+    private static final String ASSETS_DIR = "page-factory-assets";
+    private static final Pattern DIGEST_FILE = Pattern.compile("[0-9a-f]{64}(\\.tmp)?");
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])(?:s-maxage|max-age)\\s*=\\s*\"?(\\d+)");
+
+    private static final boolean IS_ENABLED = Boolean.parseBoolean(Props.get("webdriver.proxy.cache.enabled", "false"));
+    private static final List<Pattern> PATTERNS = NetworkIdleTracker.parsePatterns(Props.get("webdriver.proxy.cache.patterns", DEFAULT_PATTERNS));
+    private static final boolean OVERRIDE_HEADERS = HEADERS_OVERRIDE.equalsIgnoreCase(Props.get("webdriver.proxy.cache.headers", "honor"));
+    private static final long MEMORY_LIMIT = Long.parseLong(Props.get("webdriver.proxy.cache.memory", "64")) * MEGABYTE;
+    private static final long DISK_LIMIT = Long.parseLong(Props.get("webdriver.proxy.cache.disk", "0")) * MEGABYTE;
+    private static final String CACHE_DIR = Props.get("webdriver.proxy.cache.dir",
+            new File(System.getProperty("java.io.tmpdir"), "page-factory-cache").getPath());
+
+    private static final AssetCache INSTANCE = new AssetCache();
+
+    /**
+     * Cached responses by url, in access order
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Bodies in memory by digest, in access order
+     */
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Sizes of bodies on disk by digest, in access order
+     */
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true);
+    private long memorySize = 0;
+    private long diskSize = 0;
+    private File directory;
+
+    private long hits = 0;
+    private long misses = 0;
+
+    private AssetCache() {
+    }
+
+    /**
+     * @return true if assets cache is enabled
+     */
+    public static boolean isEnabled() {
+        return IS_ENABLED;
+    }
+
+    /**
+     * @return cache shared by all proxies
+     */
+    public static AssetCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Serve cached assets from the proxy and store new ones
+     *
+     * @param proxy proxy to configure
+     */
+    public static void install(BrowserMobProxy proxy) {
+        // Only responses of cacheable requests are captured, other ones stream through the proxy unbuffered
+        proxy.addLastHttpFilterFactory(new HttpFiltersSourceAdapter() {
+            @Override
+            public HttpFilters filterRequest(HttpRequest originalRequest, ChannelHandlerContext ctx) {
+                if (ProxyUtils.isCONNECT(originalRequest)) {
+                    return null;
+                }
+                String url = new HttpsAwareFiltersAdapter(originalRequest, ctx).getOriginalUrl();
+                return isCacheable(originalRequest, url) ? new CapturingFilter(originalRequest, ctx, url) : null;
+            }
+        });
+    }
+
+    /**
+     * Drop all cached assets
+     */
+    public synchronized void clear() {
+        entries.clear();
+        memory.clear();
+        memorySize = 0;
+        for (String digest : new ArrayList<>(disk.keySet())) {
+            deleteFromDisk(digest);
+        }
+    }
+
+    private static boolean isCacheable(HttpRequest request, String url) {
+        if (request == null || url == null || !HttpMethod.GET.equals(request.getMethod())
+                || request.headers().contains(HttpHeaders.Names.RANGE)) {
+            return false;
+        }
+        for (Pattern pattern : PATTERNS) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return time in milliseconds the response may be served from cache
+     * until, or 0 if it must not be cached
+     */
+    private static long getExpiration(HttpResponse response) {
+        if (OVERRIDE_HEADERS) {
+            return Long.MAX_VALUE;
+        }
+
+        String cacheControl = response.headers().get(HttpHeaders.Names.CACHE_CONTROL);
+        if (cacheControl != null) {
+            String directives = cacheControl.toLowerCase();
+            if (directives.contains("no-store") || directives.contains("no-cache") || directives.contains("private")) {
+                return 0;
+            }
+            Matcher maxAge = MAX_AGE.matcher(directives);
+            if (maxAge.find()) {
+                try {
+                    return System.currentTimeMillis() + Long.parseLong(maxAge.group(1)) * 1000;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+
+        String expires = response.headers().get(HttpHeaders.Names.EXPIRES);
+        if (expires != null) {
+            try {
+                return ZonedDateTime.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private HttpResponse get(HttpRequest request, String url) {
+        Entry entry;
+        byte[] body;
+        synchronized (this) {
+            entry = entries.get(url);
+            if (entry == null || entry.expires <= System.currentTimeMillis()) {
+                if (entry != null) {
+                    entries.remove(url);
+                }
+                misses++;
+                return null;
+            }
+            body = getBody(entry.digest);
+            if (body == null) {
+                entries.remove(url);
+                misses++;
+                return null;
+            }
+            hits++;
+        }
+        LOG.debug("Serving {} from cache. Hits: {}, misses: {}", url, hits, misses);
+
+        HttpResponse response = new DefaultFullHttpResponse(request.getProtocolVersion(),
+                HttpResponseStatus.OK, Unpooled.wrappedBuffer(body));
+        for (Map.Entry<String, String> header : entry.headers) {
+            response.headers().add(header.getKey(), header.getValue());
+        }
+        HttpHeaders.setContentLength(response, body.length);
+        response.headers().set(CACHE_HEADER, "HIT");
+        return response;
+    }
+
+    private void put(String url, HttpResponse response, byte[] body, long expires) {
+        if (body == null || body.length > MEMORY_LIMIT) {
+            return;
+        }
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (Map.Entry<String, String> header : response.headers()) {
+            if (!isHopByHop(header.getKey())) {
+                headers.add(new AbstractMap.SimpleImmutableEntry<>(header.getKey(), header.getValue()));
+            }
+        }
+        String digest = digest(body);
+
+        synchronized (this) {
+            entries.put(url, new Entry(digest, headers, expires));
+            if (entries.size() > MAX_URLS) {
+                Iterator<String> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+            if (!memory.containsKey(digest) && !disk.containsKey(digest)) {
+                memory.put(digest, body);
+                memorySize += body.length;
+                evictFromMemory();
+            }
+        }
+    }
+
+    private static boolean isHopByHop(String name) {
+        return HttpHeaders.Names.CONNECTION.equalsIgnoreCase(name)
+                || HttpHeaders.Names.TRANSFER_ENCODING.equalsIgnoreCase(name)
+                || HttpHeaders.Names.CONTENT_LENGTH.equalsIgnoreCase(name)
+                || "Keep-Alive".equalsIgnoreCase(name)
+                || HttpHeaders.Names.PROXY_AUTHENTICATE.equalsIgnoreCase(name)
+                || HttpHeaders.Names.SET_COOKIE.equalsIgnoreCase(name);
+    }
+
+    private byte[] getBody(String digest) {
+        byte[] body = memory.get(digest);
+        if (body != null || !disk.containsKey(digest)) {
+            return body;
+        }
+        try {
+            body = Files.readAllBytes(new File(directory, digest).toPath());
+        } catch (IOException e) {
+            LOG.debug("Failed to read cached asset {}", digest, e);
+            deleteFromDisk(digest);
+            return null;
+        }
+        // Recently used body goes back to memory
+        deleteFromDisk(digest);
+        memory.put(digest, body);
+        memorySize += body.length;
+        evictFromMemory();
+        return body;
+    }
+
+    private void evictFromMemory() {
+        Iterator<Map.Entry<String, byte[]>> eldest = memory.entrySet().iterator();
+        while (memorySize > MEMORY_LIMIT && eldest.hasNext()) {
+            Map.Entry<String, byte[]> evicted = eldest.next();
+            eldest.remove();
+            memorySize -= evicted.getValue().length;
+            if (DISK_LIMIT > 0) {
+                writeToDisk(evicted.getKey(), evicted.getValue());
+            }
+        }
+    }
+
+    private void writeToDisk(String digest, byte[] body) {
+        if (body.length > DISK_LIMIT) {
+            return;
+        }
+        try {
+            File file = new File(getDirectory(), digest);
+            File temp = new File(getDirectory(), digest + ".tmp");
+            Files.write(temp.toPath(), body);
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOG.debug("Failed to write cached asset {} to disk", digest, e);
+            return;
+        }
+        disk.put(digest, (long) body.length);
+        diskSize += body.length;
+
+        Iterator<String> eldest = disk.keySet().iterator();
+        List<String> evicted = new ArrayList<>();
+        long size = diskSize;
+        while (size > DISK_LIMIT && eldest.hasNext()) {
+            String key = eldest.next();
+            evicted.add(key);
+            size -= disk.get(key);
+        }
+        for (String key : evicted) {
+            deleteFromDisk(key);
+        }
+    }
+
+    private void deleteFromDisk(String digest) {
+        Long size = disk.remove(digest);
+        if (size != null) {
+            diskSize -= size;
+            if (!new File(directory, digest).delete()) {
+                LOG.debug("Failed to delete cached asset {}", digest);
+            }
+        }
+    }
+
+    private File getDirectory() throws IOException {
+        if (directory == null) {
+            File dir = new File(CACHE_DIR, ASSETS_DIR);
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("Failed to create cache directory '" + dir + "'");
+            }
+            // Assets left by previous runs are not indexed, so they are removed
+            File[] stale = dir.listFiles();
+            if (stale != null) {
+                for (File file : stale) {
+                    if (file.isFile() && DIGEST_FILE.matcher(file.getName()).matches() && !file.delete()) {
+                        LOG.debug("Failed to delete stale cached asset {}", file);
+                    }
+                }
+            }
+            directory = dir;
+        }
+        return directory;
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new FactoryRuntimeException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Serves a cacheable request from the cache, or collects body chunks of
+     * its response and stores it if the response could be cached
+     */
+    private static final class CapturingFilter extends HttpFiltersAdapter {
+
+        private final String url;
+        private HttpResponse response;
+        private ByteArrayOutputStream body;
+        private long expires;
+
+        private CapturingFilter(HttpRequest originalRequest, ChannelHandlerContext ctx, String url) {
+            super(originalRequest, ctx);
+            this.url = url;
+        }
+
+        @Override
+        public HttpResponse clientToProxyRequest(HttpObject httpObject) {
+            return httpObject instanceof HttpRequest ? INSTANCE.get((HttpRequest) httpObject, url) : null;
+        }
+
+        @Override
+        public HttpObject serverToProxyResponse(HttpObject httpObject) {
+            if (httpObject instanceof HttpResponse) {
+                response = (HttpResponse) httpObject;
+                expires = getExpiration(response);
+                boolean isCacheable = response.getStatus().code() == HttpResponseStatus.OK.code()
+                        && !response.headers().contains(CACHE_HEADER)
+                        && expires > System.currentTimeMillis();
+                body = isCacheable ? new ByteArrayOutputStream() : null;
+            }
+            if (body != null && httpObject instanceof HttpContent) {
+                ByteBuf content = ((HttpContent) httpObject).content();
+                if (body.size() + content.readableBytes() > MEMORY_LIMIT) {
+                    body = null;
+                } else {
+                    byte[] chunk = new byte[content.readableBytes()];
+                    content.getBytes(content.readerIndex(), chunk);
+                    body.write(chunk, 0, chunk.length);
+                }
+            }
+            if (body != null && httpObject instanceof LastHttpContent) {
+                INSTANCE.put(url, response, body.toByteArray(), expires);
+                body = null;
+            }
+            return httpObject;
+        }
+    }
+
+    /**
+     * Cached response of a single url. Body is referenced by its digest
+     */
+    private static final class Entry {
+
+        private final String digest;
+        private final List<Map.Entry<String, String>> headers;
+        private final long expires;
+
+        private Entry(String digest, List<Map.Entry<String, String>> headers, long expires) {
+            this.digest = digest;
+            this.headers = headers;
+            this.expires = expires;
+        }
+    }
+}
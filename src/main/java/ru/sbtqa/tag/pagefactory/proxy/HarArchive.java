@@ -0,0 +1,674 @@
+package ru.sbtqa.tag.pagefactory.proxy;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import cucumber.api.Scenario;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import net.lightbody.bmp.BrowserMobProxy;
+import net.lightbody.bmp.filters.RequestFilter;
+import net.lightbody.bmp.filters.ResponseFilter;
+import net.lightbody.bmp.util.HttpMessageContents;
+import net.lightbody.bmp.util.HttpMessageInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.pagefactory.exceptions.FactoryRuntimeException;
+import ru.sbtqa.tag.qautils.properties.Props;
+
+/**
+ * Records traffic of the proxy to HAR files and replays it, so suites can be
+ * run against a frozen backend without network.
+ * <p>
+ * Mode is set by {@code webdriver.proxy.har.mode} property. In {@code record}
+ * mode every exchange is appended to {@code <feature name>.har} in
+ * {@code webdriver.proxy.har.dir} as soon as the response is received, the
+ * file is completed on JVM shutdown. In {@code replay} mode requests are
+ * answered from the HAR file of the current feature. Exchanges are matched by
+ * method, url and request body, repeated requests get recorded responses in
+ * the recorded order. Requests without a recorded response get 404, or are
+ * sent to the server if {@code webdriver.proxy.har.passthrough} is true.
+ * <p>
+ * As HAR 1.2 requires, response content is recorded decoded, so
+ * {@code Content-Encoding} and {@code Content-Length} headers are not
+ * recorded and are never replayed
+ */
+public class HarArchive {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HarArchive.class);
+
+    private static final String MODE_RECORD = "record";
+    private static final String MODE_REPLAY = "replay";
+    private static final String HAR_EXTENSION = ".har";
+    private static final String BASE64 = "base64";
+    private static final String DEFAULT_FEATURE = "default";
+    private static final String CLASSPATH_PREFIX = "classpath:";
+    private static final long PENDING_TIMEOUT = 300000;
+    private static final String SUPPORTED_ENCODINGS = "gzip, deflate";
+
+    private static final String MODE = Props.get("webdriver.proxy.har.mode").toLowerCase();
+    private static final String HAR_DIR = Props.get("webdriver.proxy.har.dir", "src/test/resources/har");
+    private static final boolean PASSTHROUGH = Boolean.parseBoolean(Props.get("webdriver.proxy.har.passthrough", "false"));
+
+    private static final Map<BrowserMobProxy, HarArchive> ARCHIVES
+            = Collections.synchronizedMap(new WeakHashMap<BrowserMobProxy, HarArchive>());
+    private static final Map<String, HarWriter> WRITERS = new HashMap<>();
+    private static final ConcurrentMap<String, Map<String, List<Exchange>>> RECORDINGS = new ConcurrentHashMap<>();
+
+    static {
+        if (MODE_RECORD.equals(MODE)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    close();
+                }
+            }, "har-archive-shutdown"));
+        }
+    }
+
+    private volatile String feature = DEFAULT_FEATURE;
+    private volatile Scenario scenario;
+    private final Map<HttpRequest, Exchange> pending = new IdentityHashMap<>();
+    private final Map<String, Integer> cursors = new HashMap<>();
+
+    private HarArchive() {
+    }
+
+    /**
+     * @return true if traffic is recorded or replayed
+     */
+    public static boolean isEnabled() {
+        return isRecording() || isReplaying();
+    }
+
+    /**
+     * @return true if traffic is recorded to HAR files
+     */
+    public static boolean isRecording() {
+        return MODE_RECORD.equals(MODE);
+    }
+
+    /**
+     * @return true if responses are replayed from HAR files
+     */
+    public static boolean isReplaying() {
+        return MODE_REPLAY.equals(MODE);
+    }
+
+    /**
+     * Start recording or replaying traffic of the proxy
+     *
+     * @param proxy proxy to configure
+     */
+    public static void install(BrowserMobProxy proxy) {
+        final HarArchive archive = new HarArchive();
+        if (isRecording()) {
+            proxy.addRequestFilter(new RequestFilter() {
+                @Override
+                public HttpResponse filterRequest(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+                    archive.onRequest(request, contents, messageInfo);
+                    return null;
+                }
+            });
+            proxy.addResponseFilter(new ResponseFilter() {
+                @Override
+                public void filterResponse(HttpResponse response, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+                    archive.onResponse(response, contents, messageInfo);
+                }
+            });
+        } else {
+            proxy.addRequestFilter(new RequestFilter() {
+                @Override
+                public HttpResponse filterRequest(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+                    return archive.replay(request, contents, messageInfo);
+                }
+            });
+        }
+        ARCHIVES.put(proxy, archive);
+    }
+
+    /**
+     * Bind traffic of the proxy to the feature of the scenario
+     *
+     * @param proxy proxy of the current driver
+     * @param scenario current scenario
+     */
+    public static void setScenario(BrowserMobProxy proxy, Scenario scenario) {
+        HarArchive archive = proxy == null ? null : ARCHIVES.get(proxy);
+        if (archive == null || archive.scenario == scenario) {
+            return;
+        }
+        archive.scenario = scenario;
+        String name = getFeatureName(scenario);
+        if (!name.equals(archive.feature)) {
+            archive.feature = name;
+            synchronized (archive.cursors) {
+                archive.cursors.clear();
+            }
+        }
+    }
+
+    /**
+     * Complete all recorded HAR files
+     */
+    public static void close() {
+        synchronized (WRITERS) {
+            for (Map.Entry<String, HarWriter> writer : WRITERS.entrySet()) {
+                try {
+                    writer.getValue().close();
+                } catch (IOException e) {
+                    LOG.warn("Failed to complete HAR file of feature {}", writer.getKey(), e);
+                }
+            }
+            WRITERS.clear();
+        }
+    }
+
+    private static String getFeatureName(Scenario scenario) {
+        if (scenario == null || scenario.getUri() == null) {
+            return DEFAULT_FEATURE;
+        }
+        String name = new File(scenario.getUri()).getName();
+        int extension = name.lastIndexOf('.');
+        if (extension > 0) {
+            name = name.substring(0, extension);
+        }
+        return name.replaceAll("[^\\w.-]", "_");
+    }
+
+    private void onRequest(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+        // Response bodies are recorded decoded, so only encodings that could be decoded are accepted
+        if (request.headers().contains(HttpHeaders.Names.ACCEPT_ENCODING)) {
+            request.headers().set(HttpHeaders.Names.ACCEPT_ENCODING, SUPPORTED_ENCODINGS);
+        }
+
+        Exchange exchange = new Exchange();
+        exchange.started = System.currentTimeMillis();
+        exchange.method = request.getMethod().name();
+        exchange.url = messageInfo.getOriginalUrl();
+        exchange.httpVersion = request.getProtocolVersion().text();
+        exchange.requestHeaders = copyHeaders(request.headers());
+        exchange.requestContentType = request.headers().get(HttpHeaders.Names.CONTENT_TYPE);
+        setRequestBody(exchange, contents);
+
+        synchronized (pending) {
+            Iterator<Exchange> stale = pending.values().iterator();
+            while (stale.hasNext()) {
+                if (exchange.started - stale.next().started > PENDING_TIMEOUT) {
+                    stale.remove();
+                }
+            }
+            pending.put(messageInfo.getOriginalRequest(), exchange);
+        }
+    }
+
+    private void onResponse(HttpResponse response, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+        Exchange exchange;
+        synchronized (pending) {
+            exchange = pending.remove(messageInfo.getOriginalRequest());
+        }
+        if (exchange == null) {
+            return;
+        }
+        exchange.time = System.currentTimeMillis() - exchange.started;
+        exchange.status = response.getStatus().code();
+        exchange.statusText = response.getStatus().reasonPhrase();
+        exchange.responseHeaders = copyHeaders(response.headers());
+        exchange.responseContentType = response.headers().get(HttpHeaders.Names.CONTENT_TYPE);
+        try {
+            exchange.responseBody = decode(contents.getBinaryContents(),
+                    response.headers().get(HttpHeaders.Names.CONTENT_ENCODING));
+        } catch (IOException e) {
+            LOG.warn("Failed to decode response of {} {}. It is not recorded", exchange.method, exchange.url, e);
+            return;
+        }
+        // HAR content is decoded, so headers describing the transferred body don't apply to it
+        Iterator<String[]> headers = exchange.responseHeaders.iterator();
+        while (headers.hasNext()) {
+            if (isBodyHeader(headers.next()[0])) {
+                headers.remove();
+            }
+        }
+
+        try {
+            getWriter(feature).write(exchange);
+        } catch (IOException e) {
+            LOG.warn("Failed to record {} {} to HAR file", exchange.method, exchange.url, e);
+        }
+    }
+
+    private HttpResponse replay(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+        String method = request.getMethod().name();
+        String url = messageInfo.getOriginalUrl();
+        List<Exchange> candidates = getRecording(feature).get(method + " " + url);
+
+        Exchange exchange = null;
+        if (candidates != null) {
+            Exchange received = new Exchange();
+            setRequestBody(received, contents);
+            List<Exchange> matched = new ArrayList<>();
+            for (Exchange candidate : candidates) {
+                if (candidate.requestBody == null || candidate.requestBody.isEmpty()
+                        || (candidate.requestBody.equals(received.requestBody)
+                        && Objects.equals(candidate.requestEncoding, received.requestEncoding))) {
+                    matched.add(candidate);
+                }
+            }
+            if (!matched.isEmpty()) {
+                exchange = matched.get(nextIndex(method + " " + url + " " + received.requestBody, matched.size()));
+            }
+        }
+
+        if (exchange == null) {
+            if (PASSTHROUGH) {
+                LOG.debug("There is no recorded response for {} {}. Sending it to server", method, url);
+                return null;
+            }
+            LOG.warn("There is no recorded response for {} {} in feature {}", method, url, feature);
+            HttpResponse notFound = new DefaultFullHttpResponse(request.getProtocolVersion(), HttpResponseStatus.NOT_FOUND);
+            HttpHeaders.setContentLength(notFound, 0);
+            return notFound;
+        }
+
+        byte[] body = exchange.responseBody == null ? new byte[0] : exchange.responseBody;
+        HttpResponse response = new DefaultFullHttpResponse(request.getProtocolVersion(),
+                new HttpResponseStatus(exchange.status, exchange.statusText == null ? "" : exchange.statusText),
+                Unpooled.wrappedBuffer(body));
+        for (String[] header : exchange.responseHeaders) {
+            if (!isBodyHeader(header[0])) {
+                response.headers().add(header[0], header[1]);
+            }
+        }
+        HttpHeaders.setContentLength(response, body.length);
+        return response;
+    }
+
+    /**
+     * Request body is kept as text if it is textual and its charset is
+     * supported, otherwise it is encoded in base64 as binary response bodies
+     * are
+     */
+    private static void setRequestBody(Exchange exchange, HttpMessageContents contents) {
+        byte[] body = contents.getBinaryContents();
+        exchange.requestSize = body.length;
+        if (body.length == 0) {
+            exchange.requestBody = "";
+            return;
+        }
+        if (contents.isText()) {
+            try {
+                exchange.requestBody = contents.getTextContents();
+                return;
+            } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+                LOG.debug("Unknown charset of {} request body. It is recorded in base64", contents.getContentType(), e);
+            }
+        }
+        exchange.requestBody = Base64.getEncoder().encodeToString(body);
+        exchange.requestEncoding = BASE64;
+    }
+
+    /**
+     * Decode body transferred with the given content encoding. Only encodings
+     * of {@link #SUPPORTED_ENCODINGS} are requested while recording
+     */
+    private static byte[] decode(byte[] body, String encoding) throws IOException {
+        if (encoding == null || encoding.trim().isEmpty() || "identity".equalsIgnoreCase(encoding.trim())
+                || body.length == 0) {
+            return body;
+        }
+        InputStream decoded;
+        switch (encoding.trim().toLowerCase()) {
+            case "gzip":
+            case "x-gzip":
+                decoded = new GZIPInputStream(new ByteArrayInputStream(body));
+                break;
+            case "deflate":
+                decoded = new InflaterInputStream(new ByteArrayInputStream(body));
+                break;
+            default:
+                throw new IOException("Unsupported content encoding '" + encoding + "'");
+        }
+        try (InputStream in = decoded) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length * 4);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * @return true if the header describes the transferred body rather than
+     * the content, as HAR content is always decoded
+     */
+    private static boolean isBodyHeader(String name) {
+        return HttpHeaders.Names.CONTENT_ENCODING.equalsIgnoreCase(name)
+                || HttpHeaders.Names.CONTENT_LENGTH.equalsIgnoreCase(name)
+                || HttpHeaders.Names.TRANSFER_ENCODING.equalsIgnoreCase(name);
+    }
+
+    /**
+     * Index of the next recorded response for repeated requests. The last one
+     * is given when all are used
+     */
+    private int nextIndex(String key, int size) {
+        synchronized (cursors) {
+            Integer cursor = cursors.get(key);
+            int index = cursor == null ? 0 : Math.min(cursor + 1, size - 1);
+            cursors.put(key, index);
+            return index;
+        }
+    }
+
+    private static List<String[]> copyHeaders(HttpHeaders headers) {
+        List<String[]> copy = new ArrayList<>();
+        for (Map.Entry<String, String> header : headers) {
+            copy.add(new String[]{header.getKey(), header.getValue()});
+        }
+        return copy;
+    }
+
+    private static HarWriter getWriter(String feature) throws IOException {
+        synchronized (WRITERS) {
+            HarWriter writer = WRITERS.get(feature);
+            if (writer == null) {
+                File dir = new File(HAR_DIR);
+                if (!dir.isDirectory() && !dir.mkdirs()) {
+                    throw new IOException("Failed to create HAR directory '" + HAR_DIR + "'");
+                }
+                writer = new HarWriter(new File(dir, feature + HAR_EXTENSION));
+                WRITERS.put(feature, writer);
+            }
+            return writer;
+        }
+    }
+
+    private static Map<String, List<Exchange>> getRecording(String feature) {
+        Map<String, List<Exchange>> recording = RECORDINGS.get(feature);
+        if (recording == null) {
+            recording = readRecording(feature);
+            Map<String, List<Exchange>> existing = RECORDINGS.putIfAbsent(feature, recording);
+            if (existing != null) {
+                recording = existing;
+            }
+        }
+        return recording;
+    }
+
+    /**
+     * Read entries of HAR file one by one. File that was not completed, e.g.
+     * because the recording JVM was killed, is read up to the last entry
+     */
+    private static Map<String, List<Exchange>> readRecording(String feature) {
+        Map<String, List<Exchange>> recording = new HashMap<>();
+        Reader source = openRecording(feature + HAR_EXTENSION);
+        if (source == null) {
+            LOG.warn("There is no HAR file for feature {} in {}", feature, HAR_DIR);
+            return recording;
+        }
+
+        int count = 0;
+        try (JsonReader reader = new JsonReader(source)) {
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"log".equals(reader.nextName())) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (!"entries".equals(reader.nextName())) {
+                        reader.skipValue();
+                        continue;
+                    }
+                    reader.beginArray();
+                    JsonParser parser = new JsonParser();
+                    while (reader.hasNext() && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        Exchange exchange = Exchange.fromJson(parser.parse(reader).getAsJsonObject());
+                        String key = exchange.method + " " + exchange.url;
+                        List<Exchange> exchanges = recording.get(key);
+                        if (exchanges == null) {
+                            exchanges = new ArrayList<>();
+                            recording.put(key, exchanges);
+                        }
+                        exchanges.add(exchange);
+                        count++;
+                    }
+                    reader.endArray();
+                }
+                reader.endObject();
+            }
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            LOG.warn("HAR file of feature {} is read up to entry {}", feature, count, e);
+        }
+        LOG.info("Loaded {} recorded exchanges of feature {}", count, feature);
+        return recording;
+    }
+
+    private static Reader openRecording(String name) {
+        try {
+            if (HAR_DIR.startsWith(CLASSPATH_PREFIX)) {
+                String dir = HAR_DIR.substring(CLASSPATH_PREFIX.length());
+                String path = (dir.isEmpty() || dir.endsWith("/") ? dir : dir + "/") + name;
+                InputStream resource = Thread.currentThread().getContextClassLoader()
+                        .getResourceAsStream(path.startsWith("/") ? path.substring(1) : path);
+                return resource == null ? null : new InputStreamReader(resource, StandardCharsets.UTF_8);
+            }
+            File file = new File(HAR_DIR, name);
+            return file.exists() ? Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            throw new FactoryRuntimeException("Failed to open HAR file '" + name + "'", e);
+        }
+    }
+
+    /**
+     * Writes HAR file entry by entry. Entries are flushed as soon as they are
+     * written, so memory doesn't grow with recording
+     */
+    private static final class HarWriter {
+
+        private final JsonWriter json;
+        private boolean closed = false;
+
+        private HarWriter(File file) throws IOException {
+            json = new JsonWriter(new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8));
+            json.setIndent(" ");
+            json.beginObject();
+            json.name("log").beginObject();
+            json.name("version").value("1.2");
+            json.name("creator").beginObject()
+                    .name("name").value("page-factory")
+                    .name("version").value("1.0")
+                    .endObject();
+            json.name("pages").beginArray().endArray();
+            json.name("entries").beginArray();
+            json.flush();
+        }
+
+        private synchronized void write(Exchange exchange) throws IOException {
+            if (closed) {
+                return;
+            }
+            exchange.toJson(json);
+            json.flush();
+        }
+
+        private synchronized void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            json.endArray();
+            json.endObject();
+            json.endObject();
+            json.close();
+        }
+    }
+
+    /**
+     * Single request and response, as much of HAR entry as replay needs
+     */
+    private static final class Exchange {
+
+        private long started;
+        private long time;
+        private String method;
+        private String url;
+        private String httpVersion;
+        private List<String[]> requestHeaders = new ArrayList<>();
+        private String requestContentType;
+        private String requestBody;
+        private String requestEncoding;
+        private int requestSize;
+        private int status;
+        private String statusText;
+        private List<String[]> responseHeaders = new ArrayList<>();
+        private String responseContentType;
+        private byte[] responseBody;
+
+        private void toJson(JsonWriter json) throws IOException {
+            SimpleDateFormat iso = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+            json.beginObject();
+            json.name("startedDateTime").value(iso.format(new Date(started)));
+            json.name("time").value(time);
+
+            json.name("request").beginObject();
+            json.name("method").value(method);
+            json.name("url").value(url);
+            json.name("httpVersion").value(httpVersion);
+            json.name("cookies").beginArray().endArray();
+            writeHeaders(json, requestHeaders);
+            json.name("queryString").beginArray().endArray();
+            if (requestBody != null && !requestBody.isEmpty()) {
+                json.name("postData").beginObject()
+                        .name("mimeType").value(requestContentType == null ? "" : requestContentType)
+                        .name("text").value(requestBody);
+                if (requestEncoding != null) {
+                    json.name("encoding").value(requestEncoding);
+                }
+                json.endObject();
+            }
+            json.name("headersSize").value(-1);
+            json.name("bodySize").value(requestSize);
+            json.endObject();
+
+            int size = responseBody == null ? 0 : responseBody.length;
+            json.name("response").beginObject();
+            json.name("status").value(status);
+            json.name("statusText").value(statusText);
+            json.name("httpVersion").value(httpVersion);
+            json.name("cookies").beginArray().endArray();
+            writeHeaders(json, responseHeaders);
+            json.name("content").beginObject()
+                    .name("size").value(size)
+                    .name("mimeType").value(responseContentType == null ? "" : responseContentType)
+                    .name("text").value(Base64.getEncoder().encodeToString(responseBody == null ? new byte[0] : responseBody))
+                    .name("encoding").value(BASE64)
+                    .endObject();
+            json.name("redirectURL").value("");
+            json.name("headersSize").value(-1);
+            json.name("bodySize").value(size);
+            json.endObject();
+
+            json.name("cache").beginObject().endObject();
+            json.name("timings").beginObject()
+                    .name("send").value(0)
+                    .name("wait").value(time)
+                    .name("receive").value(0)
+                    .endObject();
+            json.endObject();
+        }
+
+        private static void writeHeaders(JsonWriter json, List<String[]> headers) throws IOException {
+            json.name("headers").beginArray();
+            for (String[] header : headers) {
+                json.beginObject().name("name").value(header[0]).name("value").value(header[1]).endObject();
+            }
+            json.endArray();
+        }
+
+        private static Exchange fromJson(JsonObject entry) {
+            Exchange exchange = new Exchange();
+            JsonObject request = entry.getAsJsonObject("request");
+            exchange.method = getString(request, "method");
+            exchange.url = getString(request, "url");
+            if (request.has("postData")) {
+                JsonObject postData = request.getAsJsonObject("postData");
+                exchange.requestBody = getString(postData, "text");
+                exchange.requestEncoding = getString(postData, "encoding");
+            }
+
+            JsonObject response = entry.getAsJsonObject("response");
+            exchange.status = response.get("status").getAsInt();
+            exchange.statusText = getString(response, "statusText");
+            exchange.responseHeaders = readHeaders(response.getAsJsonArray("headers"));
+
+            JsonObject content = response.getAsJsonObject("content");
+            String text = content == null ? null : getString(content, "text");
+            if (text == null) {
+                exchange.responseBody = new byte[0];
+            } else if (BASE64.equalsIgnoreCase(getString(content, "encoding"))) {
+                exchange.responseBody = Base64.getMimeDecoder().decode(text);
+            } else {
+                exchange.responseBody = text.getBytes(StandardCharsets.UTF_8);
+            }
+            return exchange;
+        }
+
+        private static List<String[]> readHeaders(JsonArray headers) {
+            List<String[]> result = new ArrayList<>();
+            if (headers != null) {
+                for (JsonElement header : headers) {
+                    JsonObject pair = header.getAsJsonObject();
+                    result.add(new String[]{getString(pair, "name"), getString(pair, "value")});
+                }
+            }
+            return result;
+        }
+
+        private static String getString(JsonObject object, String name) {
+            JsonElement element = object.get(name);
+            return element == null || element.isJsonNull() ? null : element.getAsString();
+        }
+    }
+}
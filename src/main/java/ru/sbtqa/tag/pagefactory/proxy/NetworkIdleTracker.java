@@ -0,0 +1,245 @@
+package ru.sbtqa.tag.pagefactory.proxy;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+import net.lightbody.bmp.BrowserMobProxy;
+import net.lightbody.bmp.filters.HttpsAwareFiltersAdapter;
+import org.littleshoot.proxy.HttpFilters;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
+import org.littleshoot.proxy.impl.ProxyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.pagefactory.support.Poller;
+import ru.sbtqa.tag.qautils.properties.Props;
+
+/**
+ * Tracks requests that went through the proxy and are still waiting for a
+ * response. Network is idle when there are no such requests during a quiet
+ * window of {@code webdriver.proxy.idle.quiet} milliseconds. Requests matching
+ * {@code webdriver.proxy.idle.ignore} patterns (long polling, analytics) and
+ * requests pending longer than {@code webdriver.proxy.idle.request.timeout}
+ * milliseconds are not taken into account
+ */
+public class NetworkIdleTracker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NetworkIdleTracker.class);
+
+    private static final long QUIET_WINDOW = Long.parseLong(Props.get("webdriver.proxy.idle.quiet", "500"));
+    private static final long REQUEST_TIMEOUT = Long.parseLong(Props.get("webdriver.proxy.idle.request.timeout", "30000"));
+    private static final List<Pattern> IGNORED_URLS = parsePatterns(Props.get("webdriver.proxy.idle.ignore"));
+
+    private static final boolean IS_ENABLED = "networkidle".equalsIgnoreCase(Props.get("page.ready.mode", "readystate"));
+
+    private static final Map<BrowserMobProxy, NetworkIdleTracker> TRACKERS
+            = Collections.synchronizedMap(new WeakHashMap<BrowserMobProxy, NetworkIdleTracker>());
+
+    private final Map<HttpRequest, Long> inFlight = new IdentityHashMap<>();
+    private volatile long lastActivity = System.currentTimeMillis();
+
+    private NetworkIdleTracker() {
+    }
+
+    /**
+     * @return true if page readiness should include network idleness
+     */
+    public static boolean isEnabled() {
+        return IS_ENABLED;
+    }
+
+    /**
+     * Start tracking requests of the given proxy
+     *
+     * @param proxy proxy to track
+     * @return tracker of the proxy
+     */
+    public static NetworkIdleTracker install(BrowserMobProxy proxy) {
+        final NetworkIdleTracker tracker = new NetworkIdleTracker();
+        // Responses are not aggregated, so bodies of any size stream to browser as they come
+        proxy.addLastHttpFilterFactory(new HttpFiltersSourceAdapter() {
+            @Override
+            public HttpFilters filterRequest(final HttpRequest originalRequest, ChannelHandlerContext ctx) {
+                return new HttpsAwareFiltersAdapter(originalRequest, ctx) {
+                    @Override
+                    public HttpResponse clientToProxyRequest(HttpObject httpObject) {
+                        if (httpObject instanceof HttpRequest && !ProxyUtils.isCONNECT(httpObject)) {
+                            tracker.onRequest(originalRequest, getOriginalUrl());
+                        }
+                        return null;
+                    }
+
+                    @Override
+                    public HttpObject serverToProxyResponse(HttpObject httpObject) {
+                        if (httpObject instanceof LastHttpContent) {
+                            tracker.onResponse(originalRequest);
+                        }
+                        return httpObject;
+                    }
+
+                    @Override
+                    public void serverToProxyResponseTimedOut() {
+                        tracker.onResponse(originalRequest);
+                    }
+
+                    @Override
+                    public void proxyToServerResolutionFailed(String hostAndPort) {
+                        tracker.onResponse(originalRequest);
+                    }
+
+                    @Override
+                    public void proxyToServerConnectionFailed() {
+                        tracker.onResponse(originalRequest);
+                    }
+                };
+            }
+
+            @Override
+            public int getMaximumResponseBufferSizeInBytes() {
+                return 0;
+            }
+        });
+        TRACKERS.put(proxy, tracker);
+        return tracker;
+    }
+
+    /**
+     * @param proxy proxy
+     * @return tracker of the proxy or null if the proxy is not tracked
+     */
+    public static NetworkIdleTracker get(BrowserMobProxy proxy) {
+        return proxy == null ? null : TRACKERS.get(proxy);
+    }
+
+    /**
+     * Wait until there are no pending requests during the quiet window
+     *
+     * @param timeout timeout in milliseconds
+     * @return true if network became idle, false on timeout
+     */
+    public boolean waitForIdle(long timeout) {
+        Boolean isIdle = Poller.withTimeout(timeout).until(new Poller.Condition<Boolean>() {
+            @Override
+            public Boolean evaluate() {
+                return isIdle();
+            }
+        });
+        return isIdle != null;
+    }
+
+    /**
+     * @return true if there are no pending requests during the quiet window
+     */
+    public boolean isIdle() {
+        long now = System.currentTimeMillis();
+        return getPendingRequests(now) == 0 && now - lastActivity >= QUIET_WINDOW;
+    }
+
+    private int getPendingRequests(long now) {
+        int pending = 0;
+        synchronized (inFlight) {
+            for (Long start : inFlight.values()) {
+                if (now - start < REQUEST_TIMEOUT) {
+                    pending++;
+                }
+            }
+        }
+        return pending;
+    }
+
+    private void onRequest(HttpRequest request, String url) {
+        if (isIgnored(url)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (inFlight) {
+            evictStale(now);
+            inFlight.put(request, now);
+        }
+        lastActivity = now;
+    }
+
+    private void onResponse(HttpRequest request) {
+        Long start;
+        synchronized (inFlight) {
+            start = inFlight.remove(request);
+        }
+        if (start != null) {
+            lastActivity = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Requests without response, e.g. aborted by browser, are forgotten after
+     * the request timeout
+     */
+    private void evictStale(long now) {
+        List<HttpRequest> stale = new ArrayList<>();
+        for (Map.Entry<HttpRequest, Long> entry : inFlight.entrySet()) {
+            if (now - entry.getValue() >= REQUEST_TIMEOUT) {
+                stale.add(entry.getKey());
+            }
+        }
+        for (HttpRequest request : stale) {
+            LOG.debug("Request {} has no response for {} ms. It is not tracked anymore", request.getUri(), REQUEST_TIMEOUT);
+            inFlight.remove(request);
+        }
+    }
+
+    private static boolean isIgnored(String url) {
+        for (Pattern pattern : IGNORED_URLS) {
+            if (url != null && pattern.matcher(url).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse comma separated regular expressions. Commas inside brackets,
+     * braces or parentheses, e.g. in {@code \\d{1,3}}, and escaped ones
+     * ({@code \\,}) are parts of an expression
+     *
+     * @param patterns property value
+     * @return compiled expressions
+     */
+    static List<Pattern> parsePatterns(String patterns) {
+        List<Pattern> result = new ArrayList<>();
+        int depth = 0;
+        boolean isInClass = false;
+        int start = 0;
+        for (int i = 0; i < patterns.length(); i++) {
+            char c = patterns.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (isInClass) {
+                isInClass = c != ']';
+            } else if (c == '[') {
+                isInClass = true;
+            } else if (c == '(' || c == '{') {
+                depth++;
+            } else if ((c == ')' || c == '}') && depth > 0) {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                addPattern(result, patterns.substring(start, i));
+                start = i + 1;
+            }
+        }
+        addPattern(result, patterns.substring(Math.min(start, patterns.length())));
+        return result;
+    }
+
+    private static void addPattern(List<Pattern> patterns, String pattern) {
+        if (!pattern.trim().isEmpty()) {
+            patterns.add(Pattern.compile(pattern.trim()));
+        }
+    }
+}
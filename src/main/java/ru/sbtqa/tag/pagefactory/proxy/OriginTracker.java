@@ -0,0 +1,155 @@
+package ru.sbtqa.tag.pagefactory.proxy;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import net.lightbody.bmp.BrowserMobProxy;
+import net.lightbody.bmp.filters.HttpsAwareFiltersAdapter;
+import org.littleshoot.proxy.HttpFilters;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
+import org.littleshoot.proxy.impl.ProxyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects origins the browser could keep state for, that is origins of
+ * loaded documents (web storage is bound to them) and of responses setting
+ * cookies. Used to clean a pooled browser session on every origin visited by
+ * a scenario.
+ * <p>
+ * While the tracker is stubbing, every request is answered by the proxy with
+ * an empty page, so the browser could open an origin to clean it without
+ * sending the old cookies to the server
+ */
+public class OriginTracker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OriginTracker.class);
+
+    private static final Map<BrowserMobProxy, OriginTracker> TRACKERS
+            = Collections.synchronizedMap(new WeakHashMap<BrowserMobProxy, OriginTracker>());
+
+    private final Set<String> origins = new LinkedHashSet<>();
+    private volatile boolean isStubbing;
+
+    private OriginTracker() {
+    }
+
+    /**
+     * Start collecting origins of the given proxy. The filter is added first,
+     * so it sees requests answered by other filters as well
+     *
+     * @param proxy proxy to track
+     * @return tracker of the proxy
+     */
+    public static OriginTracker install(BrowserMobProxy proxy) {
+        final OriginTracker tracker = new OriginTracker();
+        proxy.addFirstHttpFilterFactory(new HttpFiltersSourceAdapter() {
+            @Override
+            public HttpFilters filterRequest(HttpRequest originalRequest, ChannelHandlerContext ctx) {
+                return new HttpsAwareFiltersAdapter(originalRequest, ctx) {
+
+                    private String origin;
+
+                    @Override
+                    public HttpResponse clientToProxyRequest(HttpObject httpObject) {
+                        if (!(httpObject instanceof HttpRequest) || ProxyUtils.isCONNECT(httpObject)) {
+                            return null;
+                        }
+                        HttpRequest request = (HttpRequest) httpObject;
+                        origin = toOrigin(getOriginalUrl());
+                        if (tracker.isStubbing) {
+                            return emptyPage(request);
+                        }
+                        String accept = request.headers().get(HttpHeaders.Names.ACCEPT);
+                        if (accept != null && accept.contains("text/html")) {
+                            tracker.add(origin);
+                        }
+                        return null;
+                    }
+
+                    @Override
+                    public HttpObject proxyToClientResponse(HttpObject httpObject) {
+                        if (httpObject instanceof HttpResponse && !tracker.isStubbing
+                                && ((HttpResponse) httpObject).headers().contains(HttpHeaders.Names.SET_COOKIE)) {
+                            tracker.add(origin);
+                        }
+                        return httpObject;
+                    }
+                };
+            }
+        });
+        TRACKERS.put(proxy, tracker);
+        return tracker;
+    }
+
+    /**
+     * @param proxy proxy
+     * @return tracker of the proxy or null if the proxy is not tracked
+     */
+    public static OriginTracker get(BrowserMobProxy proxy) {
+        return proxy == null ? null : TRACKERS.get(proxy);
+    }
+
+    /**
+     * Take collected origins and start collecting again
+     *
+     * @return origins in order they were seen, e.g. {@code https://host:8443}
+     */
+    public List<String> drainOrigins() {
+        synchronized (origins) {
+            List<String> result = new ArrayList<>(origins);
+            origins.clear();
+            return result;
+        }
+    }
+
+    /**
+     * @param isStubbing true to answer all requests with an empty page instead
+     * of passing them to servers
+     */
+    public void setStubbing(boolean isStubbing) {
+        this.isStubbing = isStubbing;
+    }
+
+    private void add(String origin) {
+        if (origin != null) {
+            synchronized (origins) {
+                origins.add(origin);
+            }
+        }
+    }
+
+    private static String toOrigin(String url) {
+        try {
+            URI uri = new URI(url);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return null;
+            }
+            return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+        } catch (URISyntaxException e) {
+            LOG.debug("Failed to get origin of {}", url, e);
+            return null;
+        }
+    }
+
+    private static HttpResponse emptyPage(HttpRequest request) {
+        HttpResponse response = new DefaultFullHttpResponse(request.getProtocolVersion(), HttpResponseStatus.OK);
+        response.headers().set(HttpHeaders.Names.CONTENT_TYPE, "text/html");
+        response.headers().set(HttpHeaders.Names.CACHE_CONTROL, "no-store");
+        HttpHeaders.setContentLength(response, 0);
+        return response;
+    }
+}
@@ -0,0 +1,235 @@
+package ru.sbtqa.tag.pagefactory.proxy;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import net.lightbody.bmp.BrowserMobProxy;
+import net.lightbody.bmp.filters.RequestFilter;
+import net.lightbody.bmp.util.HttpMessageContents;
+import net.lightbody.bmp.util.HttpMessageInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.pagefactory.exceptions.FactoryRuntimeException;
+import ru.sbtqa.tag.qautils.properties.Props;
+
+/**
+ * Rules blocking or stubbing requests in the proxy, e.g. to analytics, ads,
+ * chat widgets or fonts, that tests never check.
+ * <p>
+ * Blocked url patterns are listed in {@code webdriver.proxy.block} property.
+ * More rules can be described in a json file set by
+ * {@code webdriver.proxy.rules} property:
+ * <pre>
+ * [
+ *   {"url": "https?://fonts\\.googleapis\\.com/.*", "action": "block", "status": 204},
+ *   {"url": "https?://chat\\.example\\.com/api/.*", "method": "GET", "action": "stub", "status": 200,
+ *    "contentType": "application/json", "body": "{}", "headers": {"Access-Control-Allow-Origin": "*"}},
+ *   {"url": "https?://cdn\\.example\\.com/logo\\.png", "action": "stub", "contentType": "image/png", "file": "stubs/logo.png"}
+ * ]
+ * </pre>
+ * Url and method are regular expressions matching the whole value. Stub body
+ * is taken either from {@code body} or from {@code file}, which is searched in
+ * file system and then in classpath
+ */
+public class ProxyRules {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProxyRules.class);
+
+    private static final String ACTION_BLOCK = "block";
+    private static final String ACTION_STUB = "stub";
+    private static final int DEFAULT_BLOCK_STATUS = Integer.parseInt(Props.get("webdriver.proxy.block.status", "204"));
+    private static final String BLOCKED_URLS = Props.get("webdriver.proxy.block");
+    private static final String RULES_FILE = Props.get("webdriver.proxy.rules");
+
+    private static volatile List<Rule> rules;
+
+    private ProxyRules() {
+    }
+
+    /**
+     * @return true if there are any rules configured
+     */
+    public static boolean isEnabled() {
+        return !BLOCKED_URLS.isEmpty() || !RULES_FILE.isEmpty();
+    }
+
+    /**
+     * Apply configured rules to the proxy. Blocked urls are added to the
+     * proxy blacklist, stubs are answered by a request filter
+     *
+     * @param proxy proxy to configure
+     */
+    public static void install(BrowserMobProxy proxy) {
+        final List<Rule> stubs = new ArrayList<>();
+        for (Rule rule : getRules()) {
+            if (ACTION_BLOCK.equalsIgnoreCase(rule.action)) {
+                int status = rule.status == null ? DEFAULT_BLOCK_STATUS : rule.status;
+                if (rule.method == null) {
+                    proxy.blacklistRequests(rule.url, status);
+                } else {
+                    proxy.blacklistRequests(rule.url, status, rule.method);
+                }
+            } else {
+                stubs.add(rule);
+            }
+        }
+
+        if (!stubs.isEmpty()) {
+            proxy.addRequestFilter(new RequestFilter() {
+                @Override
+                public HttpResponse filterRequest(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+                    for (Rule stub : stubs) {
+                        if (stub.matches(request.getMethod().name(), messageInfo.getOriginalUrl())) {
+                            return stub.createResponse(request);
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+    }
+
+    private static List<Rule> getRules() {
+        if (rules == null) {
+            synchronized (ProxyRules.class) {
+                if (rules == null) {
+                    rules = Collections.unmodifiableList(loadRules());
+                }
+            }
+        }
+        return rules;
+    }
+
+    private static List<Rule> loadRules() {
+        List<Rule> loaded = new ArrayList<>();
+        for (Pattern pattern : NetworkIdleTracker.parsePatterns(BLOCKED_URLS)) {
+            Rule rule = new Rule();
+            rule.url = pattern.pattern();
+            rule.action = ACTION_BLOCK;
+            loaded.add(rule);
+        }
+
+        if (!RULES_FILE.isEmpty()) {
+            try (Reader reader = new InputStreamReader(open(RULES_FILE), StandardCharsets.UTF_8)) {
+                List<Rule> fileRules = new Gson().fromJson(reader, new TypeToken<List<Rule>>() {}.getType());
+                if (fileRules != null) {
+                    loaded.addAll(fileRules);
+                }
+            } catch (IOException | JsonParseException e) {
+                throw new FactoryRuntimeException("Failed to read proxy rules from '" + RULES_FILE + "'", e);
+            }
+        }
+
+        for (Rule rule : loaded) {
+            rule.validate();
+        }
+        LOG.info("Loaded {} proxy rules", loaded.size());
+        return loaded;
+    }
+
+    private static InputStream open(String path) throws IOException {
+        File file = new File(path);
+        if (file.exists()) {
+            return Files.newInputStream(file.toPath());
+        }
+        InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream(path);
+        if (resource == null) {
+            throw new IOException("There is no file or resource '" + path + "'");
+        }
+        return resource;
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Single rule as it is described in json
+     */
+    private static final class Rule {
+
+        private String url;
+        private String method;
+        private String action;
+        private Integer status;
+        private String contentType;
+        private String body;
+        private String file;
+        private Map<String, String> headers;
+
+        private transient Pattern urlPattern;
+        private transient Pattern methodPattern;
+        private transient byte[] content;
+
+        private void validate() {
+            if (url == null || url.isEmpty()) {
+                throw new FactoryRuntimeException("Proxy rule must have url pattern");
+            }
+            if (action == null) {
+                action = ACTION_BLOCK;
+            }
+            if (!ACTION_BLOCK.equalsIgnoreCase(action) && !ACTION_STUB.equalsIgnoreCase(action)) {
+                throw new FactoryRuntimeException("Proxy rule action '" + action + "' is not supported. Use 'block' or 'stub'");
+            }
+            urlPattern = Pattern.compile(url);
+            methodPattern = method == null ? null : Pattern.compile(method, Pattern.CASE_INSENSITIVE);
+
+            if (ACTION_STUB.equalsIgnoreCase(action)) {
+                if (file != null) {
+                    try (InputStream stream = open(file)) {
+                        content = readAll(stream);
+                    } catch (IOException e) {
+                        throw new FactoryRuntimeException("Failed to read proxy stub '" + file + "'", e);
+                    }
+                } else {
+                    content = (body == null ? "" : body).getBytes(StandardCharsets.UTF_8);
+                }
+            }
+        }
+
+        private boolean matches(String requestMethod, String requestUrl) {
+            return (methodPattern == null || methodPattern.matcher(requestMethod).matches())
+                    && urlPattern.matcher(requestUrl).matches();
+        }
+
+        private HttpResponse createResponse(HttpRequest request) {
+            HttpResponse response = new DefaultFullHttpResponse(request.getProtocolVersion(),
+                    HttpResponseStatus.valueOf(status == null ? 200 : status), Unpooled.wrappedBuffer(content));
+            if (contentType != null) {
+                response.headers().set(HttpHeaders.Names.CONTENT_TYPE, contentType);
+            }
+            if (headers != null) {
+                for (Map.Entry<String, String> header : headers.entrySet()) {
+                    response.headers().set(header.getKey(), header.getValue());
+                }
+            }
+            HttpHeaders.setContentLength(response, content.length);
+            return response;
+        }
+    }
+}
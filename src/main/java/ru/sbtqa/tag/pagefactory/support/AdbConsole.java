@@ -3,14 +3,19 @@ package ru.sbtqa.tag.pagefactory.support;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.sbtqa.tag.pagefactory.drivers.TagMobileDriver;
+import ru.sbtqa.tag.qautils.properties.Props;
 
 public class AdbConsole {
 
     private static final Logger LOG = LoggerFactory.getLogger(AdbConsole.class);
 
+    private static final String ADB_PATH = Props.get("adb.path", "adb");
+    private static final boolean ADB_SHELL_PERSISTENT = Boolean.parseBoolean(Props.get("adb.shell.persistent", "true"));
+
     private AdbConsole() {
         throw new IllegalAccessError("Utility class");
     }
@@ -20,7 +25,56 @@ public class AdbConsole {
     }
 
     public static boolean execute(String deviceUDID, String command) {
-        ProcessBuilder processBuilder = new ProcessBuilder(new String[]{"adb", "-s", deviceUDID, "shell", command});
+        if (!ADB_SHELL_PERSISTENT) {
+            return executeInNewProcess(deviceUDID, command);
+        }
+        try {
+            return AdbShell.getInstance(deviceUDID).execute(command).isSuccess();
+        } catch (IOException ex) {
+            LOG.error("Failed to process command '{}'", command, ex);
+        }
+        return false;
+    }
+
+    /**
+     * Execute several commands in one round trip to the device
+     *
+     * @param commands shell commands
+     * @return true if all commands are succeeded
+     */
+    public static boolean execute(List<String> commands) {
+        return execute(TagMobileDriver.getDeviceUDID(), commands);
+    }
+
+    /**
+     * Execute several commands in one round trip to the device
+     *
+     * @param deviceUDID device udid
+     * @param commands shell commands
+     * @return true if all commands are succeeded
+     */
+    public static boolean execute(String deviceUDID, List<String> commands) {
+        if (!ADB_SHELL_PERSISTENT) {
+            boolean isSuccess = true;
+            for (String command : commands) {
+                isSuccess &= executeInNewProcess(deviceUDID, command);
+            }
+            return isSuccess;
+        }
+        try {
+            boolean isSuccess = true;
+            for (AdbShell.Result result : AdbShell.getInstance(deviceUDID).execute(commands)) {
+                isSuccess &= result.isSuccess();
+            }
+            return isSuccess;
+        } catch (IOException ex) {
+            LOG.error("Failed to process commands {}", commands, ex);
+        }
+        return false;
+    }
+
+    private static boolean executeInNewProcess(String deviceUDID, String command) {
+        ProcessBuilder processBuilder = new ProcessBuilder(new String[]{ADB_PATH, "-s", deviceUDID, "shell", command});
         LOG.info("Command '{}' is processing...", command);
         try {
             Process process = processBuilder.start();
@@ -0,0 +1,271 @@
+package ru.sbtqa.tag.pagefactory.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.qautils.properties.Props;
+
+/**
+ * Long-lived {@code adb shell} of a device. Commands are written to the shell
+ * input, each one followed by an echo of a unique marker with the command exit
+ * code, and output is read up to that marker. Several commands can be sent in
+ * one batch and their results are read after that, so there is no process
+ * start and adb handshake per command.
+ * <p>
+ * Each command should complete in {@code adb.command.timeout} milliseconds,
+ * otherwise the shell is killed and started again by the next command. Path
+ * to adb executable is set by {@code adb.path} property
+ */
+public class AdbShell {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdbShell.class);
+
+    private static final String ADB_PATH = Props.get("adb.path", "adb");
+    private static final long COMMAND_TIMEOUT = Long.parseLong(Props.get("adb.command.timeout", "10000"));
+    // Compared by reference, so it can't be confused with a line of output
+    private static final String EOF = new String("EOF");
+    private static final Pattern CARRIAGE_RETURNS = Pattern.compile("\r+$");
+
+    private static final ConcurrentMap<String, AdbShell> SHELLS = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                closeAll();
+            }
+        }, "adb-shell-shutdown"));
+    }
+
+    private final String deviceUDID;
+    private final String id = UUID.randomUUID().toString().replace("-", "");
+    private final String marker = "__PF_" + id + "__";
+    // Marker is split by quotes, so a terminal echoing the input never prints it literally
+    private final String markerCommand = "echo \"__PF_\"\"" + id + "__ $?\"";
+    private Process process;
+    private Writer input;
+    private BlockingQueue<String> output;
+
+    private AdbShell(String deviceUDID) {
+        this.deviceUDID = deviceUDID;
+    }
+
+    /**
+     * @param deviceUDID device udid, or null for the only connected device
+     * @return shell of the device
+     */
+    public static AdbShell getInstance(String deviceUDID) {
+        String key = deviceUDID == null ? "" : deviceUDID;
+        AdbShell shell = SHELLS.get(key);
+        if (shell == null) {
+            AdbShell created = new AdbShell(deviceUDID);
+            shell = SHELLS.putIfAbsent(key, created);
+            if (shell == null) {
+                shell = created;
+            }
+        }
+        return shell;
+    }
+
+    /**
+     * Close shells of all devices
+     */
+    public static void closeAll() {
+        for (AdbShell shell : SHELLS.values()) {
+            shell.close();
+        }
+    }
+
+    /**
+     * Execute a command
+     *
+     * @param command shell command
+     * @return command result
+     * @throws IOException if shell couldn't be started or the command is
+     * timed out
+     */
+    public Result execute(String command) throws IOException {
+        return execute(Collections.singletonList(command)).get(0);
+    }
+
+    /**
+     * Send several commands at once and read their results
+     *
+     * @param commands shell commands
+     * @return results in the order of commands
+     * @throws IOException if shell couldn't be started or one of the commands
+     * is timed out
+     */
+    public synchronized List<Result> execute(List<String> commands) throws IOException {
+        StringBuilder batch = new StringBuilder();
+        for (String command : commands) {
+            LOG.info("Command '{}' is processing...", command);
+            batch.append(command).append('\n')
+                    .append(markerCommand).append('\n');
+        }
+
+        try {
+            send(batch.toString());
+        } catch (IOException e) {
+            LOG.debug("Adb shell of device {} is broken. Reconnecting", deviceUDID, e);
+            close();
+            send(batch.toString());
+        }
+
+        List<Result> results = new ArrayList<>(commands.size());
+        for (String command : commands) {
+            results.add(read(command));
+        }
+        return results;
+    }
+
+    /**
+     * Kill the shell. It is started again by the next command
+     */
+    public synchronized void close() {
+        if (process != null) {
+            process.destroy();
+            process = null;
+            input = null;
+            output = null;
+        }
+    }
+
+    private void send(String batch) throws IOException {
+        if (process == null || !process.isAlive()) {
+            start();
+        }
+        input.write(batch);
+        input.flush();
+    }
+
+    private void start() throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ADB_PATH);
+        if (deviceUDID != null) {
+            command.add("-s");
+            command.add(deviceUDID);
+        }
+        command.add("shell");
+
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectErrorStream(true);
+        final Process started = builder.start();
+        final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try (BufferedReader stream = new BufferedReader(new InputStreamReader(started.getInputStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = stream.readLine()) != null) {
+                        lines.add(line);
+                    }
+                } catch (IOException e) {
+                    LOG.debug("Failed to read adb shell output", e);
+                } finally {
+                    lines.add(EOF);
+                }
+            }
+        }, "adb-shell-" + deviceUDID);
+        reader.setDaemon(true);
+        reader.start();
+
+        process = started;
+        input = new OutputStreamWriter(started.getOutputStream(), StandardCharsets.UTF_8);
+        output = lines;
+        LOG.debug("Adb shell of device {} is started", deviceUDID);
+    }
+
+    private Result read(String command) throws IOException {
+        StringBuilder text = new StringBuilder();
+        long deadline = System.currentTimeMillis() + COMMAND_TIMEOUT;
+        while (true) {
+            String line;
+            try {
+                line = output.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IOException("Interrupted while waiting for command '" + command + "'", e);
+            }
+            if (line == null) {
+                close();
+                throw new IOException("Command '" + command + "' is not completed in " + COMMAND_TIMEOUT + " ms");
+            }
+            if (line == EOF) {
+                close();
+                throw new IOException("Adb shell of device " + deviceUDID + " is closed while executing '" + command + "'");
+            }
+            // Terminal of old devices ends lines with carriage returns and echoes the input
+            line = CARRIAGE_RETURNS.matcher(line).replaceAll("");
+            if (line.contains(markerCommand)) {
+                continue;
+            }
+
+            int index = line.indexOf(marker);
+            if (index < 0) {
+                text.append(line).append(System.getProperty("line.separator"));
+                continue;
+            }
+            // Output without trailing line break is followed by the marker
+            text.append(line, 0, index);
+            String code = line.substring(index + marker.length()).trim();
+            LOG.debug(text.toString());
+            try {
+                return new Result(Integer.parseInt(code), text.toString());
+            } catch (NumberFormatException e) {
+                return new Result(-1, text.toString());
+            }
+        }
+    }
+
+    /**
+     * Exit code and output of a command
+     */
+    public static final class Result {
+
+        private final int exitCode;
+        private final String output;
+
+        private Result(int exitCode, String output) {
+            this.exitCode = exitCode;
+            this.output = output;
+        }
+
+        /**
+         * @return exit code of the command
+         */
+        public int getExitCode() {
+            return exitCode;
+        }
+
+        /**
+         * @return output of the command, including error output
+         */
+        public String getOutput() {
+            return output;
+        }
+
+        /**
+         * @return true if the command exited with 0
+         */
+        public boolean isSuccess() {
+            return exitCode == 0;
+        }
+    }
+}
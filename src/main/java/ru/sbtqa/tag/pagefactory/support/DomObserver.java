@@ -0,0 +1,100 @@
+package ru.sbtqa.tag.pagefactory.support;
+
+import java.util.concurrent.TimeUnit;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.pagefactory.PageFactory;
+import ru.sbtqa.tag.qautils.properties.Props;
+
+/**
+ * Waits that are resolved in browser. A MutationObserver is installed on the
+ * page by an asynchronous script, and page text is checked only when the DOM
+ * changes. Driver gets just a boolean result instead of polling the whole page
+ * text. Enabled by {@code wait.mode = observer} property.
+ * <p>
+ * Script timeout is raised for the time of a wait. Selenium can't read its
+ * current value, so after the wait it is set to
+ * {@code webdriver.script.timeout} milliseconds, 30 seconds by default as in
+ * WebDriver specification
+ */
+public class DomObserver {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DomObserver.class);
+
+    private static final String WAIT_MODE_OBSERVER = "observer";
+    private static final boolean IS_ENABLED = WAIT_MODE_OBSERVER.equalsIgnoreCase(Props.get("wait.mode", "poll"));
+    private static final long SCRIPT_TIMEOUT_GAP = 1000;
+    private static final long SCRIPT_TIMEOUT = Long.parseLong(Props.get("webdriver.script.timeout", "30000"));
+
+    private static final String WAIT_FOR_TEXT_SCRIPT
+            = "var text = arguments[0], ignoreWhitespaces = arguments[1], present = arguments[2], timeout = arguments[3];"
+            + "var callback = arguments[arguments.length - 1];"
+            + "var matches = function() {"
+            + "  var content = document.body ? (document.body.innerText || '') : '';"
+            + "  content = ignoreWhitespaces ? content.replace(/\\s+/g, '') : content.replace(/\\s+/g, ' ');"
+            + "  return (content.indexOf(text) >= 0) === present;"
+            + "};"
+            + "if (matches()) { callback(true); return; }"
+            + "var done = false, scheduled = false, observer;"
+            + "var finish = function(result) {"
+            + "  if (done) { return; }"
+            + "  done = true;"
+            + "  observer.disconnect();"
+            + "  callback(result);"
+            + "};"
+            + "observer = new MutationObserver(function() {"
+            + "  if (scheduled || done) { return; }"
+            + "  scheduled = true;"
+            + "  setTimeout(function() { scheduled = false; if (!done && matches()) { finish(true); } }, 0);"
+            + "});"
+            + "observer.observe(document.documentElement,"
+            + "  {childList: true, subtree: true, characterData: true, attributes: true});"
+            + "setTimeout(function() { finish(matches()); }, timeout);";
+
+    private DomObserver() {
+    }
+
+    /**
+     * @return true if waits should be resolved by MutationObserver
+     */
+    public static boolean isEnabled() {
+        return IS_ENABLED;
+    }
+
+    /**
+     * Wait until text appears on the page or disappears from it. Only visible
+     * text is checked, that is text of rendered elements except hidden ones,
+     * scripts and styles
+     *
+     * @param text text to wait for
+     * @param ignoreWhitespaces if true, page text is checked with all
+     * whitespaces removed, so the text should not contain whitespaces as well.
+     * Otherwise sequences of whitespaces in page text are replaced by one
+     * space
+     * @param shouldTextBePresent wait for appearance or disappearance
+     * @param timeout timeout in milliseconds
+     * @return true if the condition is met, false on timeout, or null if the
+     * observer couldn't be installed and caller should fall back to polling
+     */
+    public static Boolean waitForText(String text, boolean ignoreWhitespaces, boolean shouldTextBePresent, long timeout) {
+        WebDriver driver = PageFactory.getWebDriver();
+        try {
+            driver.manage().timeouts().setScriptTimeout(timeout + SCRIPT_TIMEOUT_GAP, TimeUnit.MILLISECONDS);
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_FOR_TEXT_SCRIPT,
+                    text, ignoreWhitespaces, shouldTextBePresent, timeout);
+            return Boolean.TRUE.equals(result);
+        } catch (WebDriverException e) {
+            LOG.debug("Failed to wait for text '{}' with mutation observer. Falling back to polling", text, e);
+            return null;
+        } finally {
+            try {
+                driver.manage().timeouts().setScriptTimeout(SCRIPT_TIMEOUT, TimeUnit.MILLISECONDS);
+            } catch (WebDriverException e) {
+                LOG.debug("Failed to restore script timeout", e);
+            }
+        }
+    }
+}
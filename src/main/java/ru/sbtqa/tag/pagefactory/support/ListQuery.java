@@ -0,0 +1,199 @@
+package ru.sbtqa.tag.pagefactory.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.pagefactory.PageFactory;
+
+/**
+ * Condition on elements of a list. Elements are found and checked by a single
+ * script in browser, and only matching ones are returned, so a list of
+ * thousands of rows costs one round trip instead of a {@code getText()} call
+ * per row. Texts are compared with whitespaces collapsed to one space and
+ * trimmed, regular expression is searched in such text by browser. As
+ * {@link WebElement#getText()} does, text of hidden elements is considered
+ * empty, so they never match text conditions. Matching elements are waited for
+ * up to the page timeout.
+ * <p>
+ * If the list locator can't be resolved by script (e.g. it is chained) or
+ * this is a mobile application, elements are found by driver and checked one
+ * by one
+ */
+public class ListQuery {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ListQuery.class);
+
+    private static final Pattern WHITESPACES = Pattern.compile("[ \\t\\n\\x0B\\f\\r]+");
+
+    private static final String FIND_SCRIPT
+            = ScriptLocator.LOCATE_FUNCTION
+            + "var kind = arguments[3], name = arguments[4], value = arguments[5], limit = arguments[6];"
+            + "var normalize = function(text) { return (text || '').replace(/[ \\t\\n\\x0B\\f\\r]+/g, ' ').trim(); };"
+            + "var pattern = kind === 'regex' ? new RegExp(value) : null;"
+            + "var isVisible = function(element) {"
+            + "  return element.getClientRects().length > 0 && window.getComputedStyle(element).visibility !== 'hidden';"
+            + "};"
+            + "var elements = locate(arguments[0], arguments[1], arguments[2]), result = [];"
+            + "for (var i = 0; i < elements.length && (limit <= 0 || result.length < limit); i++) {"
+            + "  var element = elements[i], matches;"
+            + "  if (kind === 'attribute') {"
+            + "    matches = element.getAttribute(name) === value;"
+            + "  } else if (!isVisible(element)) {"
+            + "    matches = false;"
+            + "  } else {"
+            + "    var text = normalize(element.innerText !== undefined ? element.innerText : element.textContent);"
+            + "    matches = kind === 'regex' ? pattern.test(text)"
+            + "        : kind === 'contains' ? text.indexOf(value) >= 0 : text === value;"
+            + "  }"
+            + "  if (matches) { result.push(element); }"
+            + "}"
+            + "return result;";
+
+    private enum Kind {
+        EXACT, CONTAINS, REGEX, ATTRIBUTE
+    }
+
+    private final Kind kind;
+    private final String attribute;
+    private final String value;
+    private final Pattern pattern;
+    private int limit;
+
+    private ListQuery(Kind kind, String attribute, String value) {
+        this.kind = kind;
+        this.attribute = attribute;
+        this.value = kind == Kind.REGEX || kind == Kind.ATTRIBUTE ? value : normalize(value);
+        this.pattern = kind == Kind.REGEX ? Pattern.compile(value) : null;
+    }
+
+    /**
+     * @param text expected text of element
+     * @return query of elements with exactly this text
+     */
+    public static ListQuery textEquals(String text) {
+        return new ListQuery(Kind.EXACT, null, text);
+    }
+
+    /**
+     * @param text part of element text
+     * @return query of elements containing the text
+     */
+    public static ListQuery textContains(String text) {
+        return new ListQuery(Kind.CONTAINS, null, text);
+    }
+
+    /**
+     * @param regex regular expression to search in element text. It is
+     * evaluated by browser, so it should not use syntax specific to java
+     * @return query of elements which text matches the expression
+     */
+    public static ListQuery textMatches(String regex) {
+        return new ListQuery(Kind.REGEX, null, regex);
+    }
+
+    /**
+     * @param name attribute name
+     * @param value expected attribute value
+     * @return query of elements with the attribute equal to the value
+     */
+    public static ListQuery attribute(String name, String value) {
+        return new ListQuery(Kind.ATTRIBUTE, name, value);
+    }
+
+    /**
+     * Return only first matching elements. Browser stops checking the list
+     * when they are found
+     *
+     * @param count maximum number of elements to return, 0 for all
+     * @return this query
+     */
+    public ListQuery limit(int count) {
+        this.limit = count;
+        return this;
+    }
+
+    /**
+     * Find matching elements of the list. They are waited for up to the page
+     * timeout
+     *
+     * @param context page context, that is driver or an element of the block
+     * the list is declared in
+     * @param by locator of list elements
+     * @return matching elements in the document order, or empty list if there
+     * are none on timeout
+     */
+    public List<WebElement> find(final SearchContext context, final By by) {
+        final String[] locator = ScriptLocator.toArguments(by);
+        if (locator == null || PageFactory.getEnvironment() != Environment.WEB) {
+            LOG.debug("List {} is filtered by driver", by);
+        }
+        List<WebElement> found = Poller.withTimeout(PageFactory.getTimeOut()).until(new Poller.Condition<List<WebElement>>() {
+            @Override
+            public List<WebElement> evaluate() {
+                List<WebElement> matching = locator != null && PageFactory.getEnvironment() == Environment.WEB
+                        ? findByScript(context, locator) : filter(context.findElements(by));
+                return matching.isEmpty() ? null : matching;
+            }
+        });
+        return found == null ? new ArrayList<WebElement>() : found;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WebElement> findByScript(SearchContext context, String[] locator) {
+        Object root = context instanceof WebElement ? context : null;
+        return new ArrayList<>((List<WebElement>) ((JavascriptExecutor) PageFactory.getWebDriver()).executeScript(FIND_SCRIPT,
+                root, locator[0], locator[1], kind.name().toLowerCase(), attribute, value, limit));
+    }
+
+    /**
+     * Check elements one by one
+     *
+     * @param elements list to filter
+     * @return matching elements
+     */
+    public List<WebElement> filter(Iterable<? extends WebElement> elements) {
+        List<WebElement> result = new ArrayList<>();
+        for (WebElement element : elements) {
+            if (limit > 0 && result.size() >= limit) {
+                break;
+            }
+            if (matches(element)) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param element element to check
+     * @return true if the element matches the query
+     */
+    public boolean matches(WebElement element) {
+        switch (kind) {
+            case ATTRIBUTE:
+                return value == null ? element.getAttribute(attribute) == null : value.equals(element.getAttribute(attribute));
+            case REGEX:
+                return pattern.matcher(normalize(element.getText())).find();
+            case CONTAINS:
+                return normalize(element.getText()).contains(value);
+            default:
+                return normalize(element.getText()).equals(value);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : WHITESPACES.matcher(text).replaceAll(" ").trim();
+    }
+
+    @Override
+    public String toString() {
+        String condition = kind == Kind.ATTRIBUTE ? attribute + "=" + value : kind.name().toLowerCase() + " '" + value + "'";
+        return limit > 0 ? condition + " limit " + limit : condition;
+    }
+}
@@ -0,0 +1,196 @@
+package ru.sbtqa.tag.pagefactory.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import ru.sbtqa.tag.pagefactory.PageFactory;
+import ru.sbtqa.tag.pagefactory.exceptions.FactoryRuntimeException;
+import ru.sbtqa.tag.qautils.properties.Props;
+
+/**
+ * List of elements that is never resolved at once. Use it in page objects
+ * instead of {@code List<WebElement>} for huge lists, e.g. infinite scroll
+ * grids:
+ * <pre>
+ * &#64;ElementTitle("Operations")
+ * &#64;FindBy(css = "#operations tr")
+ * &#64;WindowSize(500)
+ * private PagedElementList operations;
+ * </pre> The field is created on the first request through
+ * {@link ru.sbtqa.tag.pagefactory.Page#findPagedListOfElements(String)}.
+ * <p>
+ * Elements are fetched by a script in windows of {@code page.list.window}
+ * elements (100 by default) or of {@link ru.sbtqa.tag.pagefactory.annotations.WindowSize}.
+ * Iterator keeps only the current window, so references to the whole list are
+ * never held by the client, and {@link #size()} gets just the count. Each call
+ * queries the browser again, so the list reflects rows loaded in the meantime.
+ * If the locator can't be resolved by script (e.g. it is chained) or this is a
+ * mobile application, elements are found by driver and a window is cut from
+ * them
+ */
+public class PagedElementList implements Iterable<WebElement> {
+
+    private static final int WINDOW_SIZE = Integer.parseInt(Props.get("page.list.window", "100"));
+
+    private static final String COUNT_SCRIPT
+            = ScriptLocator.LOCATE_FUNCTION
+            + "return locate(arguments[0], arguments[1], arguments[2]).length;";
+
+    private static final String WINDOW_SCRIPT
+            = ScriptLocator.LOCATE_FUNCTION
+            + "return locate(arguments[0], arguments[1], arguments[2], arguments[3], arguments[4]);";
+
+    private final SearchContext context;
+    private final By by;
+    private final int windowSize;
+
+    /**
+     * @param context page context, that is driver or an element of the block
+     * the list is declared in
+     * @param by locator of list elements
+     */
+    public PagedElementList(SearchContext context, By by) {
+        this(context, by, WINDOW_SIZE);
+    }
+
+    /**
+     * @param context page context, that is driver or an element of the block
+     * the list is declared in
+     * @param by locator of list elements
+     * @param windowSize number of elements fetched at once
+     */
+    public PagedElementList(SearchContext context, By by, int windowSize) {
+        if (windowSize <= 0) {
+            throw new FactoryRuntimeException("Window size of list " + by + " should be positive, but it is " + windowSize);
+        }
+        this.context = context;
+        this.by = by;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * @return number of elements in the list. Elements themselves are not
+     * fetched
+     */
+    public int size() {
+        String[] locator = ScriptLocator.toArguments(by);
+        if (locator == null || PageFactory.getEnvironment() != Environment.WEB) {
+            return context.findElements(by).size();
+        }
+        Object root = context instanceof WebElement ? context : null;
+        return ((Number) ((JavascriptExecutor) PageFactory.getWebDriver())
+                .executeScript(COUNT_SCRIPT, root, locator[0], locator[1])).intValue();
+    }
+
+    /**
+     * @return true if there are no elements in the list
+     */
+    public boolean isEmpty() {
+        return window(0, 1).isEmpty();
+    }
+
+    /**
+     * @param index index of element
+     * @return element at the index
+     * @throws IndexOutOfBoundsException if there is no element at the index
+     */
+    public WebElement get(int index) {
+        List<WebElement> found = window(index, 1);
+        if (found.isEmpty()) {
+            throw new IndexOutOfBoundsException("There is no element " + index + " in list " + by);
+        }
+        return found.get(0);
+    }
+
+    /**
+     * Fetch part of the list
+     *
+     * @param from index of the first element
+     * @param count maximum number of elements
+     * @return elements from the index. Could be shorter than count at the end
+     * of the list
+     */
+    @SuppressWarnings("unchecked")
+    public List<WebElement> window(int from, int count) {
+        if (from < 0 || count < 0) {
+            throw new IndexOutOfBoundsException("Window " + from + "+" + count + " is out of list " + by);
+        }
+        String[] locator = ScriptLocator.toArguments(by);
+        if (locator == null || PageFactory.getEnvironment() != Environment.WEB) {
+            List<WebElement> all = context.findElements(by);
+            return from >= all.size() ? Collections.<WebElement>emptyList()
+                    : new ArrayList<>(all.subList(from, Math.min(all.size(), from + count)));
+        }
+        Object root = context instanceof WebElement ? context : null;
+        return new ArrayList<>((List<WebElement>) ((JavascriptExecutor) PageFactory.getWebDriver())
+                .executeScript(WINDOW_SCRIPT, root, locator[0], locator[1], from, count));
+    }
+
+    /**
+     * Find elements that match the query. See {@link ListQuery}
+     *
+     * @param query condition on elements
+     * @return matching elements
+     */
+    public List<WebElement> find(ListQuery query) {
+        return query.find(context, by);
+    }
+
+    /**
+     * @return number of elements fetched at once
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Iterate over the list fetching it by windows. Iteration ends at the
+     * first window shorter than window size
+     *
+     * @return iterator of elements
+     */
+    @Override
+    public Iterator<WebElement> iterator() {
+        return new Iterator<WebElement>() {
+
+            private List<WebElement> current = Collections.emptyList();
+            private int position;
+            private int offset;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (position < current.size()) {
+                    return true;
+                }
+                if (exhausted) {
+                    return false;
+                }
+                current = window(offset, windowSize);
+                offset += current.size();
+                position = 0;
+                exhausted = current.size() < windowSize;
+                return !current.isEmpty();
+            }
+
+            @Override
+            public WebElement next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.get(position++);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "Paged list " + by;
+    }
+}
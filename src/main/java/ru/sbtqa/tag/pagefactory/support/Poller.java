@@ -0,0 +1,112 @@
+package ru.sbtqa.tag.pagefactory.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.qautils.properties.Props;
+
+/**
+ * Polls a condition until it is met or timeout is over. The first check is
+ * made immediately, then the interval between checks starts from
+ * {@code wait.poll.initial} milliseconds and grows by
+ * {@code wait.poll.multiplier} up to {@code wait.poll.max} milliseconds
+ */
+public class Poller {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Poller.class);
+
+    private static final long POLL_INITIAL = Long.parseLong(Props.get("wait.poll.initial", "50"));
+    private static final double POLL_MULTIPLIER = Double.parseDouble(Props.get("wait.poll.multiplier", "1.5"));
+    private static final long POLL_MAX = Long.parseLong(Props.get("wait.poll.max", "1000"));
+
+    private final long timeout;
+    private long initialInterval = POLL_INITIAL;
+    private double multiplier = POLL_MULTIPLIER;
+    private long maxInterval = POLL_MAX;
+
+    private Poller(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Condition to wait for
+     *
+     * @param <T> type of the condition result
+     */
+    public interface Condition<T> {
+
+        /**
+         * Check the condition
+         *
+         * @return null or false if condition is not met yet, any other value
+         * otherwise
+         */
+        T evaluate();
+    }
+
+    /**
+     * @param timeout timeout in milliseconds
+     * @return poller with default intervals
+     */
+    public static Poller withTimeout(long timeout) {
+        return new Poller(timeout);
+    }
+
+    /**
+     * @param initialInterval interval before the second check in milliseconds
+     * @return this poller
+     */
+    public Poller initialInterval(long initialInterval) {
+        this.initialInterval = initialInterval;
+        return this;
+    }
+
+    /**
+     * @param multiplier factor the interval grows by after each check
+     * @return this poller
+     */
+    public Poller multiplier(double multiplier) {
+        this.multiplier = multiplier;
+        return this;
+    }
+
+    /**
+     * @param maxInterval upper bound of the interval in milliseconds
+     * @return this poller
+     */
+    public Poller maxInterval(long maxInterval) {
+        this.maxInterval = maxInterval;
+        return this;
+    }
+
+    /**
+     * Poll condition until it is met
+     *
+     * @param <T> type of the condition result
+     * @param condition condition to check
+     * @return result of the condition, or null if timeout is over or thread
+     * was interrupted
+     */
+    public <T> T until(Condition<T> condition) {
+        long deadline = System.currentTimeMillis() + timeout;
+        long interval = Math.max(1, Math.min(initialInterval, maxInterval));
+        while (true) {
+            T result = condition.evaluate();
+            if (result != null && !Boolean.FALSE.equals(result)) {
+                return result;
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            try {
+                Thread.sleep(Math.min(interval, remaining));
+            } catch (InterruptedException e) {
+                LOG.warn("Error while thread is sleeping", e);
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            interval = Math.min(maxInterval, (long) Math.ceil(interval * multiplier));
+        }
+    }
+}
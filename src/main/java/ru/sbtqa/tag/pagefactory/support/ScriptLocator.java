@@ -0,0 +1,83 @@
+package ru.sbtqa.tag.pagefactory.support;
+
+import org.openqa.selenium.By;
+
+/**
+ * Finds elements of a selenium locator by a script in browser, so the elements
+ * can be filtered or counted there without sending each of them to the driver.
+ * Only simple locators are supported: id, name, class name, tag name, css
+ * selector, xpath, link text and partial link text
+ */
+final class ScriptLocator {
+
+    /**
+     * Declares {@code locate(root, how, using, from, count)} function returning
+     * array of elements found in the root element, or in the document if root
+     * is null. If from and count are given, only elements of this window are
+     * taken and the search stops at its end
+     */
+    static final String LOCATE_FUNCTION
+            = "var locate = function(root, how, using, from, count) {"
+            + "  var scope = root || document, found = [], index = 0, i;"
+            + "  var start = from || 0, end = typeof count === 'number' ? start + count : Infinity;"
+            + "  var add = function(element) {"
+            + "    if (index >= start) { found.push(element); }"
+            + "    index++;"
+            + "    return index < end;"
+            + "  };"
+            + "  var copy = function(list) { for (i = start; i < list.length && i < end; i++) { found.push(list[i]); } };"
+            + "  var links = function(partial) {"
+            + "    var anchors = scope.getElementsByTagName('a');"
+            + "    for (i = 0; i < anchors.length && index < end; i++) {"
+            + "      var text = (anchors[i].innerText || anchors[i].textContent || '').trim();"
+            + "      if (partial ? text.indexOf(using) >= 0 : text === using) { add(anchors[i]); }"
+            + "    }"
+            + "  };"
+            + "  if (start >= end) { return found; }"
+            + "  switch (how) {"
+            + "    case 'id': copy(scope.querySelectorAll('[id=' + JSON.stringify(using) + ']')); break;"
+            + "    case 'name': copy(scope.querySelectorAll('[name=' + JSON.stringify(using) + ']')); break;"
+            + "    case 'class name': copy(scope.getElementsByClassName(using)); break;"
+            + "    case 'tag name': copy(scope.getElementsByTagName(using)); break;"
+            + "    case 'link text': links(false); break;"
+            + "    case 'partial link text': links(true); break;"
+            + "    case 'xpath':"
+            + "      var snapshot = document.evaluate(using, scope, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "      for (i = 0; i < snapshot.snapshotLength; i++) {"
+            + "        if (snapshot.snapshotItem(i).nodeType === 1 && !add(snapshot.snapshotItem(i))) { break; }"
+            + "      }"
+            + "      break;"
+            + "    default: copy(scope.querySelectorAll(using));"
+            + "  }"
+            + "  return found;"
+            + "};";
+
+    private static final String[][] STRATEGIES = {
+        {"By.id: ", "id"},
+        {"By.name: ", "name"},
+        {"By.className: ", "class name"},
+        {"By.tagName: ", "tag name"},
+        {"By.cssSelector: ", "css selector"},
+        {"By.xpath: ", "xpath"},
+        {"By.linkText: ", "link text"},
+        {"By.partialLinkText: ", "partial link text"}
+    };
+
+    private ScriptLocator() {
+    }
+
+    /**
+     * @param by selenium locator
+     * @return strategy and value to pass to {@code locate} function, or null
+     * if the locator can't be resolved in browser, e.g. it is chained
+     */
+    static String[] toArguments(By by) {
+        String description = by.toString();
+        for (String[] strategy : STRATEGIES) {
+            if (description.startsWith(strategy[0])) {
+                return new String[]{strategy[1], description.substring(strategy[0].length())};
+            }
+        }
+        return null;
+    }
+}
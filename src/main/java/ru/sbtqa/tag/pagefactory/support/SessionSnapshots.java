@@ -0,0 +1,290 @@
+package ru.sbtqa.tag.pagefactory.support;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.sbtqa.tag.pagefactory.PageFactory;
+import ru.sbtqa.tag.qautils.errors.AutotestError;
+import ru.sbtqa.tag.qautils.properties.Props;
+
+/**
+ * Snapshots of browser session state: cookies, local and session storage of
+ * the current origin. A snapshot is saved after a named checkpoint, e.g. after
+ * login as some user, and restored in other scenarios instead of repeating the
+ * steps that led to the checkpoint.
+ * <p>
+ * Snapshots are kept per environment, that is {@code session.snapshot.environment}
+ * or {@code webdriver.starting.url} by default, and checkpoint name, so the
+ * name should identify the user as well. They expire after
+ * {@code session.snapshot.ttl} seconds. If {@code session.snapshot.dir} is set,
+ * snapshots are also saved there and can be used by the next runs
+ */
+public class SessionSnapshots {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionSnapshots.class);
+
+    private static final long TTL = Long.parseLong(Props.get("session.snapshot.ttl", "1800")) * 1000;
+    private static final String SNAPSHOT_DIR = Props.get("session.snapshot.dir");
+    private static final String ENVIRONMENT = Props.get("session.snapshot.environment", Props.get("webdriver.starting.url"));
+    private static final String SNAPSHOT_EXTENSION = ".json";
+
+    private static final String CAPTURE_STORAGE_SCRIPT
+            = "var dump = function(name) {"
+            + "  var result = {};"
+            + "  try {"
+            + "    var storage = window[name];"
+            + "    for (var i = 0; i < storage.length; i++) {"
+            + "      var key = storage.key(i);"
+            + "      result[key] = storage.getItem(key);"
+            + "    }"
+            + "  } catch (e) {}"
+            + "  return result;"
+            + "};"
+            + "return JSON.stringify({localStorage: dump('localStorage'), sessionStorage: dump('sessionStorage')});";
+
+    private static final String RESTORE_STORAGE_SCRIPT
+            = "var state = JSON.parse(arguments[0]);"
+            + "var fill = function(name) {"
+            + "  try {"
+            + "    var storage = window[name], values = state[name] || {};"
+            + "    storage.clear();"
+            + "    for (var key in values) {"
+            + "      if (values.hasOwnProperty(key)) { storage.setItem(key, values[key]); }"
+            + "    }"
+            + "  } catch (e) {}"
+            + "};"
+            + "fill('localStorage');"
+            + "fill('sessionStorage');";
+
+    private static final Gson GSON = new Gson();
+    private static final ConcurrentMap<String, Snapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    private SessionSnapshots() {
+    }
+
+    /**
+     * Save state of the current browser session
+     *
+     * @param checkpoint name of the checkpoint
+     */
+    public static void save(String checkpoint) {
+        WebDriver driver = PageFactory.getWebDriver();
+        Snapshot snapshot = new Snapshot();
+        snapshot.created = System.currentTimeMillis();
+        snapshot.environment = ENVIRONMENT;
+        snapshot.url = getOrigin(driver.getCurrentUrl());
+        for (Cookie cookie : driver.manage().getCookies()) {
+            snapshot.cookies.add(new StoredCookie(cookie));
+        }
+        Object storage = ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+        Snapshot state = GSON.fromJson((String) storage, Snapshot.class);
+        snapshot.localStorage = state.localStorage;
+        snapshot.sessionStorage = state.sessionStorage;
+
+        String key = getKey(checkpoint);
+        SNAPSHOTS.put(key, snapshot);
+        if (!SNAPSHOT_DIR.isEmpty()) {
+            write(key, snapshot);
+        }
+        LOG.info("Saved session snapshot '{}' with {} cookies", checkpoint, snapshot.cookies.size());
+    }
+
+    /**
+     * Restore state of the browser session saved at the checkpoint. Browser
+     * stays on the origin the state was saved at
+     *
+     * @param checkpoint name of the checkpoint
+     * @return false if there is no unexpired snapshot of the checkpoint
+     */
+    public static boolean restore(String checkpoint) {
+        Snapshot snapshot = get(getKey(checkpoint));
+        if (snapshot == null) {
+            return false;
+        }
+
+        WebDriver driver = PageFactory.getWebDriver();
+        // Cookies and storage are bound to origin, so it must be opened first
+        if (!snapshot.url.equals(getOrigin(driver.getCurrentUrl()))) {
+            driver.get(snapshot.url);
+        }
+        driver.manage().deleteAllCookies();
+        Date now = new Date();
+        for (StoredCookie stored : snapshot.cookies) {
+            Cookie cookie = stored.toCookie();
+            if (cookie.getExpiry() != null && cookie.getExpiry().before(now)) {
+                continue;
+            }
+            try {
+                driver.manage().addCookie(cookie);
+            } catch (WebDriverException e) {
+                LOG.debug("Failed to add cookie {} with domain {}. Adding it to the current domain", cookie.getName(), cookie.getDomain(), e);
+                driver.manage().addCookie(new Cookie(cookie.getName(), cookie.getValue(), cookie.getPath(), cookie.getExpiry()));
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT, GSON.toJson(snapshot));
+        LOG.info("Restored session snapshot '{}'", checkpoint);
+        return true;
+    }
+
+    /**
+     * Restore state of the browser session saved at the checkpoint
+     *
+     * @param checkpoint name of the checkpoint
+     * @throws AutotestError if there is no unexpired snapshot of the checkpoint
+     */
+    public static void restoreOrFail(String checkpoint) {
+        if (!restore(checkpoint)) {
+            throw new AutotestError("There is no session snapshot '" + checkpoint + "' or it is expired");
+        }
+    }
+
+    /**
+     * Forget all snapshots of the environment, including ones persisted by
+     * previous runs
+     */
+    public static void clear() {
+        SNAPSHOTS.clear();
+        if (SNAPSHOT_DIR.isEmpty()) {
+            return;
+        }
+        // File names of different environments could share a prefix, so the environment is checked in the file
+        String prefix = toFileName(getKey(""));
+        File[] files = new File(SNAPSHOT_DIR).listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (!file.isFile() || !name.startsWith(prefix) || !name.endsWith(SNAPSHOT_EXTENSION)) {
+                continue;
+            }
+            Snapshot snapshot = read(file);
+            if (snapshot != null && snapshot.environment != null && !snapshot.environment.equals(ENVIRONMENT)) {
+                continue;
+            }
+            if (!file.delete()) {
+                LOG.warn("Failed to delete session snapshot {}", file);
+            }
+        }
+    }
+
+    private static Snapshot get(String key) {
+        Snapshot snapshot = SNAPSHOTS.get(key);
+        if (snapshot == null && !SNAPSHOT_DIR.isEmpty()) {
+            snapshot = read(getFile(key));
+            if (snapshot != null) {
+                SNAPSHOTS.putIfAbsent(key, snapshot);
+            }
+        }
+        if (snapshot != null && System.currentTimeMillis() - snapshot.created > TTL) {
+            LOG.info("Session snapshot {} is expired", key);
+            SNAPSHOTS.remove(key, snapshot);
+            return null;
+        }
+        return snapshot;
+    }
+
+    private static String getKey(String checkpoint) {
+        return ENVIRONMENT + " " + checkpoint;
+    }
+
+    private static String getOrigin(String url) {
+        try {
+            URI uri = new URI(url);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return url;
+            }
+            return new URI(uri.getScheme(), null, uri.getHost(), uri.getPort(), "/", null, null).toString();
+        } catch (URISyntaxException e) {
+            return url;
+        }
+    }
+
+    private static File getFile(String key) {
+        return new File(SNAPSHOT_DIR, toFileName(key) + SNAPSHOT_EXTENSION);
+    }
+
+    private static String toFileName(String key) {
+        return key.replaceAll("[^\\w.-]", "_");
+    }
+
+    private static void write(String key, Snapshot snapshot) {
+        File dir = new File(SNAPSHOT_DIR);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            LOG.warn("Failed to create session snapshots directory {}", SNAPSHOT_DIR);
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(getFile(key).toPath(), StandardCharsets.UTF_8)) {
+            GSON.toJson(snapshot, writer);
+        } catch (IOException e) {
+            LOG.warn("Failed to save session snapshot {}", key, e);
+        }
+    }
+
+    private static Snapshot read(File file) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            return GSON.fromJson(reader, Snapshot.class);
+        } catch (IOException | JsonParseException e) {
+            LOG.warn("Failed to read session snapshot {}", file, e);
+            return null;
+        }
+    }
+
+    private static final class Snapshot {
+
+        private long created;
+        private String environment;
+        private String url;
+        private List<StoredCookie> cookies = new ArrayList<>();
+        private Map<String, String> localStorage = new LinkedHashMap<>();
+        private Map<String, String> sessionStorage = new LinkedHashMap<>();
+    }
+
+    private static final class StoredCookie {
+
+        private String name;
+        private String value;
+        private String domain;
+        private String path;
+        private Long expiry;
+        private boolean secure;
+        private boolean httpOnly;
+
+        private StoredCookie(Cookie cookie) {
+            name = cookie.getName();
+            value = cookie.getValue();
+            domain = cookie.getDomain();
+            path = cookie.getPath();
+            expiry = cookie.getExpiry() == null ? null : cookie.getExpiry().getTime();
+            secure = cookie.isSecure();
+            httpOnly = cookie.isHttpOnly();
+        }
+
+        private Cookie toCookie() {
+            return new Cookie(name, value, domain, path, expiry == null ? null : new Date(expiry), secure, httpOnly);
+        }
+    }
+}
@@ -16,6 +16,8 @@ import ru.sbtqa.tag.pagefactory.exceptions.PageInitializationException;
 import ru.sbtqa.tag.pagefactory.exceptions.SwipeException;
 import ru.sbtqa.tag.pagefactory.extensions.MobileExtension;
 import ru.sbtqa.tag.pagefactory.support.Environment;
+import ru.sbtqa.tag.pagefactory.support.ListQuery;
+import ru.sbtqa.tag.pagefactory.support.SessionSnapshots;
 import ru.sbtqa.tag.qautils.errors.AutotestError;
 import ru.sbtqa.tag.qautils.i18n.I18N;
 import ru.sbtqa.tag.qautils.strategies.DirectionStrategy;
@@ -178,20 +180,14 @@ public class GenericStepDefs extends SetupSteps {
      * optional
      *
      * @param listTitle title of the list to search for
-     * @param value required value of the element. for text elements value is
-     * being checked via getText() method
+     * @param value required value of the element. It is compared with text of
+     * list elements in browser, see {@link ListQuery#textEquals(String)}
      * @throws PageException if page wasn't initialized of required list wasn't
      * found
      */
     public void findElementInList(String listTitle, String value) throws PageException {
-        boolean found = false;
-        for (WebElement webElement : PageFactory.getInstance().getCurrentPage().findListOfElements(listTitle)) {
-            if (webElement.getText().equals(value)) {
-                found = true;
-                break;
-            }
-        }
-        if (!found) {
+        if (PageFactory.getInstance().getCurrentPage()
+                .findListOfElements(listTitle, ListQuery.textEquals(value).limit(1)).isEmpty()) {
             throw new AutotestError(String.format("Element with text '%s' is absent in list '%s'", value, listTitle));
         }
     }
@@ -419,4 +415,26 @@ public class GenericStepDefs extends SetupSteps {
     public void isElementFocused(String element) {
         LOG.warn("Note that isElementFocused method is still an empty!");
     }
+
+    /**
+     * Save cookies, local and session storage of the current browser session
+     * as a checkpoint, e.g. after login
+     *
+     * @param checkpoint name of the checkpoint, that should identify the user
+     * as well
+     */
+    public void saveSessionSnapshot(String checkpoint) {
+        SessionSnapshots.save(checkpoint);
+    }
+
+    /**
+     * Restore browser session state saved at the checkpoint, instead of
+     * repeating steps that led to it
+     *
+     * @param checkpoint name of the checkpoint
+     * @throws AutotestError if there is no unexpired snapshot of the checkpoint
+     */
+    public void restoreSessionSnapshot(String checkpoint) {
+        SessionSnapshots.restoreOrFail(checkpoint);
+    }
 }
@@ -3,34 +3,21 @@ package ru.sbtqa.tag.stepdefs;
 import cucumber.api.Scenario;
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import org.apache.commons.lang3.SystemUtils;
 import org.apache.log4j.PropertyConfigurator;
-import org.openqa.selenium.WebElement;
-import org.reflections.Reflections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ru.sbtqa.tag.allurehelper.ParamsHelper;
 import ru.sbtqa.tag.allurehelper.Type;
-import ru.sbtqa.tag.pagefactory.Page;
 import ru.sbtqa.tag.pagefactory.PageFactory;
 import ru.sbtqa.tag.pagefactory.ScenarioContext;
-import ru.sbtqa.tag.pagefactory.annotations.ElementTitle;
 import ru.sbtqa.tag.pagefactory.drivers.TagWebDriver;
-import ru.sbtqa.tag.pagefactory.exceptions.FactoryRuntimeException;
+import ru.sbtqa.tag.pagefactory.drivers.WebDriverPool;
+import ru.sbtqa.tag.pagefactory.proxy.HarArchive;
 import ru.sbtqa.tag.pagefactory.support.Environment;
 import ru.sbtqa.tag.pagefactory.support.ScreenShooter;
 import ru.sbtqa.tag.qautils.properties.Props;
-import ru.sbtqa.tag.qautils.reflect.ClassUtilsExt;
-import ru.sbtqa.tag.qautils.reflect.FieldUtilsExt;
 import ru.sbtqa.tag.videorecorder.VideoRecorder;
-import ru.yandex.qatools.htmlelements.element.HtmlElement;
 
 public class SetupSteps {
 
@@ -49,6 +36,8 @@ public class SetupSteps {
 
     private static final Logger LOG = LoggerFactory.getLogger(SetupSteps.class);
 
+    private static boolean areTasksKilled = false;
+
     public void setUp(Scenario scenario) {
 
         if (isAlreadyPerformed(isSetUp)) {
@@ -56,6 +45,9 @@ public class SetupSteps {
         }
 
         ScenarioContext.setScenario(scenario);
+        if (HarArchive.isEnabled()) {
+            HarArchive.setScenario(TagWebDriver.getProxy(), scenario);
+        }
         //try to connect logger property file if exists
         String path = "src/test/resources/config/log4j.properties";
         if (new File(path).exists()) {
@@ -65,19 +57,8 @@ public class SetupSteps {
             LOG.warn("There is no log4j.properties on the path {}", path);
         }
 
-        try {
-            String tasksToKill = Props.get("tasks.to.kill");
-            if (!PageFactory.isSharingProcessing() && !"".equals(tasksToKill)) {
-                for (String task : tasksToKill.split(",")) {
-                    if (SystemUtils.IS_OS_WINDOWS) {
-                        Runtime.getRuntime().exec("taskkill /IM " + task.trim() + " /F");
-                    } else {
-                        Runtime.getRuntime().exec("killall " + task.trim());
-                    }
-                }
-            }
-        } catch (IOException e) {
-            LOG.debug("Failed to kill one of task to kill", e);
+        if (!PageFactory.isSharingProcessing()) {
+            killTasks();
         }
 
         String aspectDisabled = Props.get("page.aspect.disabled");
@@ -85,48 +66,37 @@ public class SetupSteps {
             PageFactory.setAspectsDisabled(Boolean.parseBoolean(aspectDisabled));
         }
 
-        Reflections reflections;
-        reflections = new Reflections(PageFactory.getPagesPackage());
+        // Page repository is built once per JVM, here it is only warmed up to fail fast on wrong page classes
+        PageFactory.getPageRepository();
 
-        Collection<String> allClassesString = reflections.getStore().get("SubTypesScanner").values();
-        Set<Class<?>> allClasses = new HashSet<>();
-        for (String clazz : allClassesString) {
-            try {
-                allClasses.add(Class.forName(clazz));
-            } catch (ClassNotFoundException e) {
-                LOG.warn("Cannot add all classes to set from package storage", e);
-            }
+        if (PageFactory.isVideoRecorderEnabled()) {
+            VideoRecorder.getInstance().startRecording();
         }
+    }
 
-        for (Class<?> page : allClasses) {
-            List<Class> supers = ClassUtilsExt.getSuperclassesWithInheritance(page);
-            if (!supers.contains(Page.class) && !supers.contains(HtmlElement.class)) {
-                if (page.getName().contains("$")) {
-                    continue; //We allow private additional classes but skip it if its not extends Page
-                } else {
-                    throw new FactoryRuntimeException("Class " + page.getName() + " is not extended from Page class. Check you webdriver.pages.package property.");
-                }
-            }
-            List<Field> fields = FieldUtilsExt.getDeclaredFieldsWithInheritance(page);
-            Map<Field, String> fieldsMap = new HashMap<>();
-            for (Field field : fields) {
-                Class<?> fieldType = field.getType();
-                if (fieldType.equals(WebElement.class)) {
-
-                    ElementTitle titleAnnotation = field.getAnnotation(ElementTitle.class);
-                    if (titleAnnotation != null) {
-                        fieldsMap.put(field, titleAnnotation.value());
+    /**
+     * Kill processes listed in {@code tasks.to.kill}. Pooled browsers live
+     * across scenarios, so with the pool enabled processes are killed only
+     * once, before any browser is started
+     */
+    private static synchronized void killTasks() {
+        if (WebDriverPool.isEnabled() && areTasksKilled) {
+            return;
+        }
+        areTasksKilled = true;
+        try {
+            String tasksToKill = Props.get("tasks.to.kill");
+            if (!"".equals(tasksToKill)) {
+                for (String task : tasksToKill.split(",")) {
+                    if (SystemUtils.IS_OS_WINDOWS) {
+                        Runtime.getRuntime().exec("taskkill /IM " + task.trim() + " /F");
                     } else {
-                        fieldsMap.put(field, field.getName());
+                        Runtime.getRuntime().exec("killall " + task.trim());
                     }
                 }
             }
-
-            PageFactory.getPageRepository().put((Class<? extends Page>) page, fieldsMap);
-        }
-
-        if (PageFactory.isVideoRecorderEnabled()) {
-            VideoRecorder.getInstance().startRecording();
+        } catch (IOException e) {
+            LOG.debug("Failed to kill one of task to kill", e);
         }
     }
 
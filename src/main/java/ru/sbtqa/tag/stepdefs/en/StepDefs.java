@@ -249,4 +249,22 @@ public class StepDefs extends GenericStepDefs {
     public void isElementFocused(String element) {
         super.isElementFocused(element);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @And("^user saves session state as \"([^\"]*)\"$")
+    public void saveSessionSnapshot(String checkpoint) {
+        super.saveSessionSnapshot(checkpoint);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @And("^user restores session state \"([^\"]*)\"$")
+    public void restoreSessionSnapshot(String checkpoint) {
+        super.restoreSessionSnapshot(checkpoint);
+    }
 }
@@ -247,4 +247,22 @@ public class StepDefs extends GenericStepDefs {
     public void isElementFocused(String element) {
         super.isElementFocused(element);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @И("^(?:пользователь |он )?сохраняет состояние сессии как \"([^\"]*)\"$")
+    public void saveSessionSnapshot(String checkpoint) {
+        super.saveSessionSnapshot(checkpoint);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @И("^(?:пользователь |он )?восстанавливает состояние сессии \"([^\"]*)\"$")
+    public void restoreSessionSnapshot(String checkpoint) {
+        super.restoreSessionSnapshot(checkpoint);
+    }
 }
@@ -0,0 +1,101 @@
+package ru.sbtqa.tag.pagefactory.support;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
+
+/**
+ * Adb is replaced by {@code src/test/resources/adb/adb-stub.sh} running a
+ * local shell, see {@code config/application.properties} of tests
+ */
+public class AdbShellTest {
+
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    @BeforeClass
+    public static void checkShell() {
+        assumeFalse("Adb stub is a shell script", SystemUtils.IS_OS_WINDOWS);
+    }
+
+    @AfterClass
+    public static void closeShells() {
+        AdbShell.closeAll();
+    }
+
+    @Test
+    public void batchReturnsResultOfEachCommand() throws IOException {
+        List<AdbShell.Result> results = AdbShell.getInstance("batch")
+                .execute(Arrays.asList("echo first", "false", "echo error >&2; sh -c 'exit 3'", "true"));
+
+        assertEquals(4, results.size());
+        assertEquals(0, results.get(0).getExitCode());
+        assertEquals("first" + LINE_SEPARATOR, results.get(0).getOutput());
+        assertEquals(1, results.get(1).getExitCode());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("", results.get(1).getOutput());
+        assertEquals(3, results.get(2).getExitCode());
+        assertEquals("error" + LINE_SEPARATOR, results.get(2).getOutput());
+        assertTrue(results.get(3).isSuccess());
+    }
+
+    @Test
+    public void outputWithoutTrailingLineBreakIsKept() throws IOException {
+        AdbShell.Result result = AdbShell.getInstance("no-line-break").execute("printf 'first\\nsecond'");
+
+        assertEquals(0, result.getExitCode());
+        assertEquals("first" + LINE_SEPARATOR + "second", result.getOutput());
+    }
+
+    @Test
+    public void echoedMarkerIsNotTakenForResult() throws IOException {
+        List<AdbShell.Result> results = AdbShell.getInstance("echo")
+                .execute(Arrays.asList("echo first", "sh -c 'exit 5'"));
+
+        assertEquals(0, results.get(0).getExitCode());
+        assertTrue(results.get(0).getOutput().contains("first" + LINE_SEPARATOR));
+        assertFalse(results.get(0).getOutput().contains("__PF_"));
+        assertFalse(results.get(0).getOutput().contains("\r"));
+        assertEquals(5, results.get(1).getExitCode());
+        assertFalse(results.get(1).getOutput().contains("__PF_"));
+    }
+
+    @Test
+    public void timedOutShellIsStartedAgain() throws IOException {
+        AdbShell shell = AdbShell.getInstance("timeout");
+        try {
+            shell.execute("sleep 5");
+            fail("Command is expected to time out");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("is not completed"));
+        }
+
+        AdbShell.Result result = shell.execute("echo again");
+        assertEquals(0, result.getExitCode());
+        assertEquals("again" + LINE_SEPARATOR, result.getOutput());
+    }
+
+    @Test
+    public void closedShellFailsCommandAndIsStartedAgain() throws IOException {
+        AdbShell shell = AdbShell.getInstance("eof");
+        try {
+            shell.execute("exit 7");
+            fail("Command is expected to fail on closed shell");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("is closed"));
+        }
+
+        AdbShell.Result result = shell.execute("echo again");
+        assertEquals(0, result.getExitCode());
+        assertEquals("again" + LINE_SEPARATOR, result.getOutput());
+    }
+}
@@ -0,0 +1,16 @@
+#!/bin/sh
+# Stub of adb for AdbShellTest. "adb -s <device> shell" runs a local shell reading commands from stdin.
+# Devices named echo* emulate a terminal of old devices that echoes the input and ends lines with carriage returns
+case "$2" in
+    echo*)
+        while IFS= read -r line; do
+            printf '%s\r\n' "$line" >&2
+            printf '%s\n' "$line"
+        done | sh 2>&1 | while IFS= read -r line; do
+            printf '%s\r\n' "$line"
+        done
+        ;;
+    *)
+        exec sh
+        ;;
+esac